@@ -156,6 +156,48 @@ curl -X POST http://localhost:8070/api/saga/orders \
 
 ---
 
+### Idempotent Order (Safe to Retry)
+
+```bash
+# Repeating the request with the same key within saga.idempotency.window-seconds returns
+# the first saga's ID with "Idempotent-Replayed: true"; a different body gets 422
+KEY=$(uuidgen)
+for attempt in 1 2; do
+  curl -i -X POST http://localhost:8070/api/saga/orders \
+    -H "Content-Type: application/json" \
+    -H "Idempotency-Key: $KEY" \
+    -d '{
+      "customerId": "CUST001",
+      "items": [{"productId": "PROD001", "quantity": 1, "unitPrice": 100.00}],
+      "totalAmount": 100.00,
+      "paymentMethod": "CREDIT_CARD"
+    }'
+done
+```
+
+---
+
+### High Priority Order
+
+```bash
+# Saga-Priority: HIGH | NORMAL (default) | LOW picks the intake lane. When the lane is
+# full the orchestrator answers 429 with a Retry-After header instead of queueing
+curl -i -X POST http://localhost:8070/api/saga/orders \
+  -H "Content-Type: application/json" \
+  -H "Saga-Priority: HIGH" \
+  -d '{
+    "customerId": "CUST_VIP",
+    "items": [{"productId": "PROD001", "quantity": 1, "unitPrice": 100.00}],
+    "totalAmount": 100.00,
+    "paymentMethod": "CREDIT_CARD"
+  }'
+
+# Intake queue depth, wait time and rejections per lane
+curl -s http://localhost:8070/actuator/prometheus | grep saga_intake
+```
+
+---
+
 ## ❌ 3. FAILURE SCENARIOS
 
 ### Scenario 1: Payment Failed (Trigger Compensation)
@@ -247,6 +289,22 @@ curl -X POST http://localhost:8070/api/saga/orders \
 
 ---
 
+### Start Any Registered Saga Type
+
+```bash
+# Body is bound to the saga type's request class (ORDER_SAGA -> OrderRequest)
+curl -X POST http://localhost:8070/api/saga/start/ORDER_SAGA \
+  -H "Content-Type: application/json" \
+  -d '{
+    "customerId": "CUST001",
+    "items": [{"productId": "PROD001", "quantity": 1, "unitPrice": 100.00}],
+    "totalAmount": 100.00,
+    "paymentMethod": "CREDIT_CARD"
+  }' | jq
+```
+
+---
+
 ## 🔍 4. MONITORING & STATUS
 
 ### Get Saga Status by ID
@@ -267,11 +325,47 @@ curl http://localhost:8070/api/saga/active | jq
 
 ---
 
+### List Sagas (paginated)
+
+```bash
+# Newest first; filter by status and/or sagaType, up to saga.list.max-page-size per page
+curl "http://localhost:8070/api/saga/all?status=FAILED&limit=100" | jq
+
+# Pass nextCursor from the previous page to continue (null on the last page)
+curl "http://localhost:8070/api/saga/all?status=FAILED&limit=100&cursor=$NEXT_CURSOR" | jq
+```
+
+---
+
+### Export Sagas (NDJSON stream)
+
+```bash
+# One JSON object per line, streamed without loading the table into memory
+curl -N "http://localhost:8070/api/saga/export?status=COMPLETED" > completed-sagas.ndjson
+```
+
+---
+
+### Follow Saga Progress (server-sent events)
+
+```bash
+# Current state first, then one "progress" event per step transition; ends when the saga is terminal
+curl -N http://localhost:8070/api/saga/stream/$SAGA_ID
+
+# Several sagas over one connection (up to saga.stream.max-sagas-per-stream)
+curl -N "http://localhost:8070/api/saga/stream?sagaIds=$SAGA_ID,$OTHER_SAGA_ID"
+
+# Open streams on this node
+curl -s http://localhost:8070/actuator/metrics/saga.stream.open | jq '.measurements[0].value'
+```
+
+---
+
 ### Get Saga Execution History
 
 ```bash
 SAGA_ID="saga-abc123"
-curl http://localhost:8070/api/saga/$SAGA_ID/history | jq
+curl http://localhost:8070/api/saga/events/$SAGA_ID | jq
 ```
 
 ---
@@ -434,8 +528,61 @@ echo "All concurrent orders created!"
 
 ---
 
+### Create Orders in One Batch Request
+
+```bash
+# Up to saga.batch.max-size orders per request; invalid items are rejected individually
+curl -X POST http://localhost:8070/api/saga/orders/batch \
+  -H "Content-Type: application/json" \
+  -d '[
+    {
+      "customerId": "CUST_BATCH_1",
+      "items": [{"productId": "PROD_BULK", "quantity": 1, "unitPrice": 100.00}],
+      "totalAmount": 100.00,
+      "paymentMethod": "CREDIT_CARD"
+    },
+    {
+      "customerId": "CUST_BATCH_2",
+      "items": [{"productId": "PROD_BULK", "quantity": 2, "unitPrice": 100.00}],
+      "totalAmount": 200.00,
+      "paymentMethod": "CREDIT_CARD"
+    }
+  ]' | jq '.items[] | {index, sagaId, status, errors}'
+```
+
+---
+
 ## 📈 7. PERFORMANCE TESTING
 
+### Saga Metrics
+
+```bash
+# Step latency by step/participant, end-to-end saga latency percentiles, terminal
+# statuses, compensations and in-flight sagas per status
+curl -s http://localhost:8070/actuator/prometheus \
+  | grep -E '^saga_(step_duration|duration|finished|compensation_duration|in_flight)'
+```
+
+### Participant Connection Reuse
+
+```bash
+# Calls vs new connections per Feign client (reuse = 1 - opened/requests) and hc5 pool occupancy
+curl -s http://localhost:8070/actuator/prometheus \
+  | grep -E '^(saga_http_requests|saga_http_connections_opened|httpcomponents_httpclient_pool)'
+```
+
+---
+
+### Trace a Saga
+
+```bash
+# Each saga stores the W3C traceparent of its root span (00-<trace-id>-<span-id>-<flags>);
+# sampled traces (flags 01) are in Jaeger at http://localhost:16686/trace/<trace-id>
+curl -s http://localhost:8070/api/saga/status/$SAGA_ID | jq -r '.data.traceParent'
+```
+
+---
+
 ### Measure Response Time
 
 ```bash
@@ -498,6 +645,22 @@ ab -n 100 -c 10 -p test-order.json -T application/json \
 
 ---
 
+### Open-Loop Load Run
+
+```bash
+# Runs the orchestrator in-process against stubbed participants and starts sagas at a
+# fixed rate (Poisson arrivals) regardless of how fast earlier ones finish; reports
+# throughput, compensation rate and p50/p99/p99.9 saga latency. Needs only MySQL and
+# Redis, and no other orchestrator node may be running against the same database.
+docker-compose up -d mysql-saga-orchestrator redis
+mvn -pl load-generator -am package -DskipTests
+java -jar load-generator/target/load-generator-1.0.0.jar \
+  --loadgen.rate=200 --loadgen.duration-seconds=120 \
+  --loadgen.participants.payment-service.failure-rate=0.1
+```
+
+---
+
 ## 🛠️ 8. TROUBLESHOOTING COMMANDS
 
 ### Check Kafka Topics
@@ -0,0 +1,37 @@
+package com.example.saga.benchmarks;
+
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Inputs shared by the benchmarks
+final class BenchmarkFixtures {
+
+    static final String SAGA_ID = "3f2b8c1e-6a4d-4f0e-9b7a-2d5c8e1f4a6b";
+
+    // What order-service returns for POST /api/orders
+    static final String ORDER_RESPONSE =
+            "{\"orderId\":\"ORD-7C1E2A9B\",\"status\":\"PENDING\",\"totalAmount\":259.97," +
+            "\"createdAt\":\"2024-01-15T10:30:00\"}";
+
+    private BenchmarkFixtures() {
+    }
+
+    // Configured like the ObjectMapper Spring Boot gives the orchestrator
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static OrderRequest order() {
+        OrderRequest order = new OrderRequest("CUST-001", List.of(
+                new OrderRequest.OrderItem("PROD-001", 2, new BigDecimal("79.99")),
+                new OrderRequest.OrderItem("PROD-002", 1, new BigDecimal("99.99"))),
+                new BigDecimal("259.97"));
+        order.setShippingAddress("123 Main St, Springfield");
+        order.setPaymentMethod("CREDIT_CARD");
+        return order;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.saga.benchmarks;
+
+import com.demo.events.DomainEvent;
+import com.demo.events.InventoryReservedEvent;
+import com.demo.events.OrderCreatedEvent;
+import com.demo.events.PaymentProcessedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Polymorphic DomainEvent deserialization: the eventType property selects the subtype,
+// which is then built through its @JsonCreator constructor. readValue resolves the
+// deserializer from the mapper's cache on every call; the ObjectReader holds it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainEventBenchmark {
+
+    @Param({"OrderCreated", "PaymentProcessed", "InventoryReserved"})
+    public String eventType;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        reader = objectMapper.readerFor(DomainEvent.class);
+        json = objectMapper.writeValueAsBytes(event());
+    }
+
+    @Benchmark
+    public DomainEvent mapperReadValue() throws Exception {
+        return objectMapper.readValue(json, DomainEvent.class);
+    }
+
+    @Benchmark
+    public DomainEvent cachedReader() throws Exception {
+        return reader.readValue(json);
+    }
+
+    private DomainEvent event() {
+        return switch (eventType) {
+            case "OrderCreated" -> OrderCreatedEvent.builder()
+                    .aggregateId("ORD-7C1E2A9B")
+                    .correlationId(BenchmarkFixtures.SAGA_ID)
+                    .orderId("ORD-7C1E2A9B")
+                    .customerId("CUST-001")
+                    .items(List.of(
+                            new OrderCreatedEvent.OrderItem("PROD-001", "Keyboard", 2,
+                                    new BigDecimal("79.99"), new BigDecimal("159.98")),
+                            new OrderCreatedEvent.OrderItem("PROD-002", "Monitor stand", 1,
+                                    new BigDecimal("99.99"), new BigDecimal("99.99"))))
+                    .totalAmount(new BigDecimal("259.97"))
+                    .status("PENDING")
+                    .build();
+            case "PaymentProcessed" -> PaymentProcessedEvent.builder()
+                    .aggregateId("PAY-9F8E7D6C")
+                    .correlationId(BenchmarkFixtures.SAGA_ID)
+                    .paymentId("PAY-9F8E7D6C")
+                    .orderId("ORD-7C1E2A9B")
+                    .amount(new BigDecimal("259.97"))
+                    .paymentMethod("CREDIT_CARD")
+                    .transactionId("TXN-0A1B2C3D")
+                    .build();
+            case "InventoryReserved" -> InventoryReservedEvent.builder()
+                    .aggregateId("PROD-001")
+                    .correlationId(BenchmarkFixtures.SAGA_ID)
+                    .productId("PROD-001")
+                    .orderId("ORD-7C1E2A9B")
+                    .quantity(2)
+                    .remainingStock(48)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown event type " + eventType);
+        };
+    }
+}
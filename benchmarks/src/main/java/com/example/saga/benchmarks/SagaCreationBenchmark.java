@@ -0,0 +1,55 @@
+package com.example.saga.benchmarks;
+
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.definition.order.CreateOrderStep;
+import com.example.saga.orchestrator.definition.order.OrderSagaDefinition;
+import com.example.saga.orchestrator.definition.order.ProcessPaymentStep;
+import com.example.saga.orchestrator.definition.order.ReserveInventoryStep;
+import com.example.saga.orchestrator.definition.order.SendNotificationStep;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.service.SagaStepCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.saga.benchmarks.BenchmarkFixtures.SAGA_ID;
+
+// Building a new order saga before it is inserted: the request payload plus one request
+// per step, as OrderSagaOrchestrator.newSaga does (tracing left out)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SagaCreationBenchmark {
+
+    private SagaStepCodec codec;
+    private OrderRequest order;
+    private List<StepHandler<OrderRequest>> handlers;
+
+    @Setup
+    public void setUp() {
+        codec = new SagaStepCodec(BenchmarkFixtures.objectMapper());
+        order = BenchmarkFixtures.order();
+        // buildRequest needs none of the handlers' injected collaborators
+        handlers = List.of(new CreateOrderStep(), new ReserveInventoryStep(),
+                new ProcessPaymentStep(), new SendNotificationStep());
+    }
+
+    @Benchmark
+    public SagaTransaction newOrderSaga() {
+        SagaTransaction saga = new SagaTransaction(SAGA_ID, OrderSagaDefinition.SAGA_TYPE, codec.write(order));
+        saga.setTotalSteps(handlers.size());
+
+        int stepNumber = 1;
+        for (StepHandler<OrderRequest> handler : handlers) {
+            saga.getSteps().add(new SagaStep(stepNumber++, handler.getStepName(), handler.getParticipant(),
+                    codec.write(handler.buildRequest(SAGA_ID, order)), saga));
+        }
+        return saga;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.saga.benchmarks;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.SagaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.saga.benchmarks.BenchmarkFixtures.ORDER_RESPONSE;
+import static com.example.saga.benchmarks.BenchmarkFixtures.SAGA_ID;
+
+// GET /api/saga/status/{sagaId} body: a SagaResponse wrapping a completed order saga
+// with all four steps, serialized the way the Jackson message converter writes it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SagaStatusBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SagaTransaction saga;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        SagaCreationBenchmark creation = new SagaCreationBenchmark();
+        creation.setUp();
+        saga = creation.newOrderSaga();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> responses = List.of(ORDER_RESPONSE,
+                "{\"reservationId\":\"RES-1A2B3C4D\",\"status\":\"RESERVED\"}",
+                "{\"paymentId\":\"PAY-9F8E7D6C\",\"status\":\"COMPLETED\",\"amount\":259.97}",
+                "{\"notificationId\":\"NOT-5E6F7A8B\",\"status\":\"SENT\"}");
+        for (int i = 0; i < saga.getSteps().size(); i++) {
+            SagaStep step = saga.getSteps().get(i);
+            step.setStatus(SagaStep.StepStatus.COMPLETED);
+            step.setResponsePayload(responses.get(i));
+            step.setStartedAt(now);
+            step.setCompletedAt(now);
+        }
+        saga.setId(1L);
+        saga.setStatus(SagaTransaction.SagaStatus.COMPLETED);
+        saga.setCurrentStep(saga.getSteps().size());
+        saga.setEventSeq(9);
+        saga.setTraceParent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        saga.setUpdatedAt(now);
+        saga.setCompletedAt(now);
+    }
+
+    @Benchmark
+    public byte[] completedSagaStatus() throws Exception {
+        return objectMapper.writeValueAsBytes(SagaResponse.success(SAGA_ID, "Saga status retrieved", saga));
+    }
+}
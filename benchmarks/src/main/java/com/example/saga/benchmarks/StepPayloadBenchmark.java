@@ -0,0 +1,86 @@
+package com.example.saga.benchmarks;
+
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.CancelOrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.CreateOrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.OrderCreated;
+import com.example.saga.orchestrator.service.SagaStepCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.saga.benchmarks.BenchmarkFixtures.ORDER_RESPONSE;
+import static com.example.saga.benchmarks.BenchmarkFixtures.SAGA_ID;
+
+// CREATE_ORDER step payload handling: the former Map round-trips against typed records
+// with cached readers/writers. Run with -prof gc to compare gc.alloc.rate.norm (B/op).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepPayloadBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SagaStepCodec codec;
+    private OrderRequest order;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        codec = new SagaStepCodec(objectMapper);
+        order = BenchmarkFixtures.order();
+    }
+
+    // Build a Map and store it; re-parse it for the call; Feign re-encodes it; Feign
+    // decodes the response into a Map; the Map is serialized again for storage
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapExecute(Blackhole blackhole) throws Exception {
+        Map<String, Object> orderData = new HashMap<>();
+        orderData.put("customerId", order.getCustomerId());
+        orderData.put("items", order.getItems());
+        orderData.put("totalAmount", order.getTotalAmount());
+        orderData.put("shippingAddress", order.getShippingAddress());
+        String stored = objectMapper.writeValueAsString(orderData);
+
+        Map<String, Object> request = objectMapper.readValue(stored, Map.class);
+        blackhole.consume(objectMapper.writeValueAsString(request));
+
+        Map<String, Object> response = objectMapper.readValue(ORDER_RESPONSE, Map.class);
+        blackhole.consume(objectMapper.writeValueAsString(response));
+    }
+
+    // Serialize the typed request once; request and response then travel verbatim
+    @Benchmark
+    public void typedExecute(Blackhole blackhole) {
+        String stored = codec.write(new CreateOrderRequest(SAGA_ID, order.getCustomerId(), order.getItems(),
+                order.getTotalAmount(), order.getShippingAddress()));
+        blackhole.consume(stored);
+        blackhole.consume(ORDER_RESPONSE);
+    }
+
+    // Parse the stored response into a Map, copy it, serialize it for the event and again in Feign
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapCompensate(Blackhole blackhole) throws Exception {
+        Map<String, Object> compensationData = new HashMap<>();
+        compensationData.putAll(objectMapper.readValue(ORDER_RESPONSE, Map.class));
+        blackhole.consume(objectMapper.writeValueAsString(compensationData));
+        blackhole.consume(compensationData.get("orderId"));
+        blackhole.consume(objectMapper.writeValueAsString(compensationData));
+    }
+
+    // Read only the order id and serialize the cancellation once
+    @Benchmark
+    public void typedCompensate(Blackhole blackhole) {
+        String orderId = codec.read(ORDER_RESPONSE, OrderCreated.class).orderId();
+        blackhole.consume(orderId);
+        blackhole.consume(codec.write(new CancelOrderRequest(SAGA_ID, orderId, "Saga compensation")));
+    }
+}
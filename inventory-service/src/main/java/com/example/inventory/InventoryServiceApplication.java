@@ -2,8 +2,13 @@ package com.example.inventory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// Also scans the shared saga participant code (com.demo.saga)
+@SpringBootApplication(scanBasePackages = {"com.example.inventory", "com.demo.saga"})
+@EntityScan(basePackages = {"com.example.inventory", "com.demo.saga"})
+@EnableJpaRepositories(basePackages = {"com.example.inventory", "com.demo.saga"})
 public class InventoryServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(InventoryServiceApplication.class, args);
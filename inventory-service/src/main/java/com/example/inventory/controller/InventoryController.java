@@ -3,6 +3,7 @@ package com.example.inventory.controller;
 import com.example.inventory.entity.InventoryItem;
 import com.example.inventory.entity.Reservation;
 import com.example.inventory.service.InventoryService;
+import com.demo.saga.SagaCommandGateway;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,9 +17,16 @@ public class InventoryController {
     
     @Autowired
     private InventoryService inventoryService;
+    
+    @Autowired
+    private SagaCommandGateway commandGateway;
 
     @PostMapping("/reserve")
-    public ResponseEntity<Map<String, Object>> reserveInventory(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> reserveInventory(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> request) {
+        if (idempotencyKey != null) {
+            return commandGateway.call(idempotencyKey, "RESERVE_INVENTORY", request, "Failed to reserve inventory: ");
+        }
         try {
             Reservation reservation = inventoryService.reserveInventory(request);
             Map<String, Object> response = Map.of(
@@ -101,4 +109,4 @@ public class InventoryController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.example.inventory.service;
+
+import com.example.inventory.entity.Reservation;
+import com.example.inventory.outbox.OutboxEvent;
+import com.example.inventory.outbox.OutboxRepository;
+import com.demo.saga.ParticipantCommandHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+// This service's saga steps. Dedupe, recorded replies and failure handling are shared
+// (see ParticipantCommandHandler); replies go out through this service's outbox.
+@Service
+public class SagaCommandHandler extends ParticipantCommandHandler {
+    
+    private static final String REPLY_EVENT_TYPE = "SagaStepReply";
+    
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Override
+    protected Map<String, Object> performStep(String stepName, Map<String, Object> payload) {
+        if (!"RESERVE_INVENTORY".equals(stepName)) {
+            throw new RuntimeException("Unsupported saga step: " + stepName);
+        }
+        Reservation reservation = inventoryService.reserveInventory(payload);
+        return Map.of(
+                "reservationId", reservation.getReservationId(),
+                "sagaId", reservation.getSagaId(),
+                "status", "RESERVED",
+                "createdAt", reservation.getCreatedAt()
+        );
+    }
+
+    @Override
+    protected void saveReply(String sagaId, String reply) {
+        outboxRepository.save(new OutboxEvent("Saga", sagaId, REPLY_EVENT_TYPE, reply));
+    }
+}
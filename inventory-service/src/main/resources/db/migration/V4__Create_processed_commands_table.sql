@@ -0,0 +1,13 @@
+USE inventory_service_db;
+
+-- Saga commands already handled, with the reply that was sent. Written in the same
+-- transaction as the step and its outbox reply, so a redelivered command is answered
+-- from here instead of running the step again.
+CREATE TABLE IF NOT EXISTS processed_commands (
+    command_id VARCHAR(255) PRIMARY KEY,
+    saga_id VARCHAR(255) NOT NULL,
+    step_name VARCHAR(100) NOT NULL,
+    reply JSON,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_saga_id (saga_id)
+) ENGINE=InnoDB;
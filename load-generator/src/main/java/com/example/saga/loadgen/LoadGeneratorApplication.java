@@ -0,0 +1,99 @@
+package com.example.saga.loadgen;
+
+import com.example.saga.orchestrator.SagaOrchestratorApplication;
+import com.example.saga.orchestrator.service.SagaFinishedEvent;
+import com.example.saga.orchestrator.service.SagaPartitionManager;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.web.context.support.StandardServletEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Runs the real orchestrator in this JVM against stubbed participants and drives it with
+// open-loop saga starts through its HTTP API. It needs the orchestrator's MySQL and Redis
+// (docker-compose); Kafka is not used, every step goes over Feign to the stubs.
+public class LoadGeneratorApplication {
+
+    public static void main(String[] args) throws Exception {
+        StandardServletEnvironment environment = new StandardServletEnvironment();
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addFirst(new SimpleCommandLinePropertySource(args));
+        propertySources.addLast(new ResourcePropertySource("classpath:loadgen.properties"));
+
+        LoadSettings settings = LoadSettings.from(environment);
+        ParticipantStubs stubs = new ParticipantStubs(settings.participants());
+
+        // Placed after the command line so any of these can still be overridden there
+        propertySources.addAfter(SimpleCommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
+                new MapPropertySource("loadgen-overrides", overrides(stubs.getBaseUrl())));
+
+        ConfigurableApplicationContext context = null;
+        try {
+            SpringApplication application = new SpringApplication(SagaOrchestratorApplication.class);
+            application.setEnvironment(environment);
+            OpenLoopDriver[] listenerTarget = new OpenLoopDriver[1];
+            application.addListeners((ApplicationListener<PayloadApplicationEvent<?>>) event -> {
+                if (event.getPayload() instanceof SagaFinishedEvent finished && listenerTarget[0] != null) {
+                    listenerTarget[0].onSagaFinished(finished);
+                }
+            });
+            context = application.run();
+
+            awaitPartitions(context.getBean(SagaPartitionManager.class), settings);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            OpenLoopDriver driver = new OpenLoopDriver(settings, port);
+            listenerTarget[0] = driver;
+            driver.run();
+            driver.report(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            stubs.stop();
+        }
+        System.exit(0);
+    }
+
+    private static Map<String, Object> overrides(String stubUrl) {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("server.port", "0");
+        for (String participant : LoadSettings.PARTICIPANTS) {
+            overrides.put("services." + participant + ".url", stubUrl);
+        }
+        overrides.put("saga.transport.default", "feign");
+        for (String step : new String[]{"CREATE_ORDER", "RESERVE_INVENTORY", "PROCESS_PAYMENT", "SEND_NOTIFICATION"}) {
+            overrides.put("saga.transport.steps." + step, "feign");
+        }
+        overrides.put("saga.node-id", "loadgen");
+        overrides.put("spring.kafka.listener.auto-startup", "false");
+        overrides.put("spring.jpa.show-sql", "false");
+        overrides.put("logging.level.com.example.saga.orchestrator", "INFO");
+        overrides.put("logging.level.feign", "INFO");
+        overrides.put("management.tracing.enabled", "false");
+        return overrides;
+    }
+
+    // A node starts with no partitions and leases them over its first few heartbeats;
+    // sagas in unowned partitions would only be picked up by the poller later
+    private static void awaitPartitions(SagaPartitionManager partitionManager, LoadSettings settings) {
+        long deadline = System.nanoTime() + settings.startupTimeout().toNanos();
+        while (partitionManager.getOwnedPartitions().size() < partitionManager.getPartitionCount()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Orchestrator did not lease all saga partitions within "
+                        + settings.startupTimeout().toSeconds() + "s; is another orchestrator node running?");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+    }
+}
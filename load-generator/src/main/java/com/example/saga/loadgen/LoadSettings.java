@@ -0,0 +1,49 @@
+package com.example.saga.loadgen;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Settings for one load run, read from loadgen.* properties. Participant stub settings
+// fall back from loadgen.participants.<participant>.* to loadgen.participants.default.*
+record LoadSettings(double rate, boolean poisson, Duration warmup, Duration duration, Duration drainTimeout,
+                    Duration startupTimeout, Map<String, ParticipantStubs.Behavior> participants) {
+
+    static final List<String> PARTICIPANTS = List.of(
+            "order-service", "inventory-service", "payment-service", "notification-service");
+
+    static LoadSettings from(Environment environment) {
+        Map<String, ParticipantStubs.Behavior> participants = new LinkedHashMap<>();
+        for (String participant : PARTICIPANTS) {
+            participants.put(participant, new ParticipantStubs.Behavior(
+                    participantSetting(environment, participant, "median-ms"),
+                    participantSetting(environment, participant, "p99-ms"),
+                    participantSetting(environment, participant, "failure-rate")));
+        }
+
+        double rate = environment.getProperty("loadgen.rate", Double.class, 100.0);
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadgen.rate must be positive");
+        }
+        return new LoadSettings(
+                rate,
+                environment.getProperty("loadgen.poisson", Boolean.class, true),
+                seconds(environment, "loadgen.warmup-seconds", 10),
+                seconds(environment, "loadgen.duration-seconds", 60),
+                seconds(environment, "loadgen.drain-timeout-seconds", 60),
+                seconds(environment, "loadgen.startup-timeout-seconds", 60),
+                participants);
+    }
+
+    private static Duration seconds(Environment environment, String key, long defaultValue) {
+        return Duration.ofSeconds(environment.getProperty(key, Long.class, defaultValue));
+    }
+
+    private static double participantSetting(Environment environment, String participant, String name) {
+        Double fallback = environment.getProperty("loadgen.participants.default." + name, Double.class, 0.0);
+        return environment.getProperty("loadgen.participants." + participant + "." + name, Double.class, fallback);
+    }
+}
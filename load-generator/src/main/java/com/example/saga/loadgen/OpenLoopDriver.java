@@ -0,0 +1,256 @@
+package com.example.saga.loadgen;
+
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.service.SagaFinishedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop driver: sagas are started on a fixed schedule (evenly spaced or Poisson)
+// whether or not earlier ones have finished, so a slow orchestrator shows up as growing
+// latency instead of a quietly reduced arrival rate. Each saga's latency runs from the
+// moment its start request was due to the moment the engine reports it finished, which
+// keeps time spent queued in the client or behind the 429 shedding in the numbers.
+//
+// Only sagas whose start fell after the warm-up are recorded.
+class OpenLoopDriver {
+
+    // Everything known about one started saga; the start response and the finish event
+    // can arrive in either order
+    private static final class Timing {
+        long scheduledNanos = -1;
+        boolean measured;
+        long finishedNanos = -1;
+        SagaTransaction.SagaStatus status;
+    }
+
+    private final LoadSettings settings;
+    private final URI startUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final Histogram allLatencies = new ConcurrentHistogram(3);
+    private final Histogram completedLatencies = new ConcurrentHistogram(3);
+    private final Histogram compensatedLatencies = new ConcurrentHistogram(3);
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong compensated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong finishedInWindow = new AtomicLong();
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    // Accepted measured sagas without a finish event yet
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+    private volatile long measureEndNanos = Long.MAX_VALUE;
+
+    OpenLoopDriver(LoadSettings settings, int orchestratorPort) {
+        this.settings = settings;
+        this.startUri = URI.create("http://127.0.0.1:" + orchestratorPort + "/api/saga/orders");
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        measureStartNanos = start + settings.warmup().toNanos();
+        measureEndNanos = measureStartNanos + settings.duration().toNanos();
+
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long next = start;
+        while (next < measureEndNanos) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(next, next >= measureStartNanos);
+            next += nextInterval(meanIntervalNanos);
+        }
+
+        drain();
+    }
+
+    void onSagaFinished(SagaFinishedEvent event) {
+        long now = System.nanoTime();
+        switch (event.status()) {
+            case COMPLETED -> completed.incrementAndGet();
+            case COMPENSATED -> compensated.incrementAndGet();
+            default -> failed.incrementAndGet();
+        }
+        if (now >= measureStartNanos && now < measureEndNanos) {
+            finishedInWindow.incrementAndGet();
+        }
+        timings.compute(event.sagaId(), (sagaId, timing) -> {
+            if (timing == null) {
+                timing = new Timing();
+                timing.finishedNanos = now;
+                timing.status = event.status();
+                return timing;
+            }
+            record(timing.scheduledNanos, timing.measured, now, event.status());
+            return null;
+        });
+    }
+
+    void report(PrintStream out) {
+        long finished = completed.get() + compensated.get() + failed.get();
+        out.println();
+        out.println("==== Saga load run ====");
+        out.printf("Arrivals          %.1f/s %s, %ds warm-up, %ds measured%n", settings.rate(),
+                settings.poisson() ? "poisson" : "constant",
+                settings.warmup().toSeconds(), settings.duration().toSeconds());
+        out.printf("Start requests    %d sent, %d accepted, %d shed (429), %d errors%n",
+                sent.get(), accepted.get(), shed.get(), errors.get());
+        out.printf("Finished          %d completed, %d compensated, %d failed, %d unfinished%n",
+                completed.get(), compensated.get(), failed.get(), outstanding.get());
+        out.printf("Throughput        %.1f sagas/s%n",
+                finishedInWindow.get() / (double) settings.duration().toSeconds());
+        out.printf("Compensation rate %.2f%%%n", finished == 0 ? 0.0 : 100.0 * compensated.get() / finished);
+        out.println();
+        out.println("Latency (ms)        count      p50      p99    p99.9      max");
+        printLatency(out, "all", allLatencies);
+        printLatency(out, "completed", completedLatencies);
+        printLatency(out, "compensated", compensatedLatencies);
+    }
+
+    private void send(long scheduledNanos, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(startUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(orderBody()))
+                .build();
+        sent.incrementAndGet();
+        pendingRequests.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    try {
+                        if (error != null) {
+                            errors.incrementAndGet();
+                        } else if (response.statusCode() == 429) {
+                            shed.incrementAndGet();
+                        } else if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            accepted(sagaId(response.body()), scheduledNanos, measured);
+                        }
+                    } finally {
+                        pendingRequests.decrementAndGet();
+                    }
+                });
+    }
+
+    private void accepted(String sagaId, long scheduledNanos, boolean measured) {
+        if (sagaId == null) {
+            errors.incrementAndGet();
+            return;
+        }
+        accepted.incrementAndGet();
+        timings.compute(sagaId, (id, timing) -> {
+            if (timing == null) {
+                timing = new Timing();
+                timing.scheduledNanos = scheduledNanos;
+                timing.measured = measured;
+                if (measured) {
+                    outstanding.incrementAndGet();
+                }
+                return timing;
+            }
+            // Finished before the start response made it back
+            if (measured) {
+                outstanding.incrementAndGet();
+            }
+            record(scheduledNanos, measured, timing.finishedNanos, timing.status);
+            return null;
+        });
+    }
+
+    private void record(long scheduledNanos, boolean measured, long finishedNanos, SagaTransaction.SagaStatus status) {
+        if (!measured) {
+            return;
+        }
+        outstanding.decrementAndGet();
+        long micros = TimeUnit.NANOSECONDS.toMicros(finishedNanos - scheduledNanos);
+        allLatencies.recordValue(micros);
+        if (status == SagaTransaction.SagaStatus.COMPLETED) {
+            completedLatencies.recordValue(micros);
+        } else if (status == SagaTransaction.SagaStatus.COMPENSATED) {
+            compensatedLatencies.recordValue(micros);
+        }
+    }
+
+    // Waits for outstanding start requests and measured sagas, up to the drain timeout
+    private void drain() {
+        long deadline = System.nanoTime() + settings.drainTimeout().toNanos();
+        while ((pendingRequests.get() > 0 || outstanding.get() > 0) && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    private long nextInterval(double meanIntervalNanos) {
+        if (!settings.poisson()) {
+            return (long) meanIntervalNanos;
+        }
+        // Exponentially distributed gaps give Poisson arrivals
+        return (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+    }
+
+    private byte[] orderBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int quantity = random.nextInt(1, 4);
+        BigDecimal unitPrice = BigDecimal.valueOf(random.nextInt(500, 10_000), 2);
+        OrderRequest order = new OrderRequest(
+                "CUST-" + random.nextInt(10_000),
+                List.of(new OrderRequest.OrderItem("PROD-" + random.nextInt(100), quantity, unitPrice)),
+                unitPrice.multiply(BigDecimal.valueOf(quantity)));
+        order.setShippingAddress("1 Load Test Way");
+        order.setPaymentMethod("CREDIT_CARD");
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize order request", e);
+        }
+    }
+
+    private String sagaId(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("sagaId").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void printLatency(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-14s %10d %8.1f %8.1f %8.1f %8.1f%n", label, histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
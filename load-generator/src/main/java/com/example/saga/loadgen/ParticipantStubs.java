@@ -0,0 +1,114 @@
+package com.example.saga.loadgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Stand-ins for the four participant HTTP APIs, all served from one local port. Each
+// participant answers after a delay drawn from its log-normal latency distribution and
+// rejects a fraction of forward step calls with 422, a business failure the orchestrator
+// compensates rather than retries. Compensating calls always succeed.
+class ParticipantStubs {
+
+    // Median and p99 in milliseconds; p99 at or below the median means a fixed delay
+    record Behavior(double medianMillis, double p99Millis, double failureRate) {
+
+        // z-score of the 99th percentile of a standard normal distribution
+        private static final double Z_99 = 2.3263;
+
+        long sampleDelayNanos(ThreadLocalRandom random) {
+            if (medianMillis <= 0) {
+                return 0;
+            }
+            double sigma = p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+            return (long) (medianMillis * Math.exp(sigma * random.nextGaussian()) * 1_000_000);
+        }
+    }
+
+    private static final Map<String, String> PARTICIPANT_PATHS = Map.of(
+            "/api/orders", "order-service",
+            "/api/inventory", "inventory-service",
+            "/api/payments", "payment-service",
+            "/api/notifications", "notification-service");
+
+    // The calls OrderSagaDefinition's steps make going forward
+    private static final Set<String> FORWARD_PATHS = Set.of(
+            "/api/orders", "/api/inventory/reserve", "/api/payments", "/api/notifications/order-confirmation");
+
+    private static final byte[] REJECTION = "{\"error\":\"Rejected by load generator stub\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, Behavior> behaviors;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    ParticipantStubs(Map<String, Behavior> behaviors) throws IOException {
+        this.behaviors = behaviors;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        PARTICIPANT_PATHS.forEach((path, participant) ->
+                server.createContext(path, exchange -> handle(participant, exchange)));
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(String participant, HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            Behavior behavior = behaviors.get(participant);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            TimeUnit.NANOSECONDS.sleep(behavior.sampleDelayNanos(random));
+
+            boolean forward = "POST".equals(exchange.getRequestMethod())
+                    && FORWARD_PATHS.contains(exchange.getRequestURI().getPath());
+            if (forward && random.nextDouble() < behavior.failureRate()) {
+                respond(exchange, 422, REJECTION);
+            } else {
+                respond(exchange, 200, forward ? created(participant) : EMPTY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The ids later compensations need: CreateOrderStep reads orderId, ProcessPaymentStep paymentId
+    private byte[] created(String participant) {
+        String json = switch (participant) {
+            case "order-service" -> "{\"orderId\":\"ORD-" + UUID.randomUUID() + "\"}";
+            case "payment-service" -> "{\"paymentId\":\"PAY-" + UUID.randomUUID() + "\"}";
+            default -> "{}";
+        };
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
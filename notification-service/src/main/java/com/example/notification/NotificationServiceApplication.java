@@ -2,8 +2,13 @@ package com.example.notification;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// Also scans the shared saga participant code (com.demo.saga)
+@SpringBootApplication(scanBasePackages = {"com.example.notification", "com.demo.saga"})
+@EntityScan(basePackages = {"com.example.notification", "com.demo.saga"})
+@EnableJpaRepositories(basePackages = {"com.example.notification", "com.demo.saga"})
 public class NotificationServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(NotificationServiceApplication.class, args);
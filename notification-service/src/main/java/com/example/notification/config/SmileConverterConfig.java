@@ -0,0 +1,20 @@
+package com.example.notification.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Lets the saga orchestrator exchange payloads with this service as Smile
+// (application/x-jackson-smile). It takes the place of Spring MVC's default Smile converter,
+// after the JSON one, so JSON remains the answer to clients without a Smile Accept header.
+// Built from Boot's builder so Smile and JSON bodies carry the same fields and date formats.
+@Configuration
+public class SmileConverterConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
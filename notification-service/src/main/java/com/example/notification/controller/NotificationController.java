@@ -2,6 +2,7 @@ package com.example.notification.controller;
 
 import com.example.notification.entity.Notification;
 import com.example.notification.service.NotificationService;
+import com.demo.saga.SagaCommandGateway;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +15,16 @@ public class NotificationController {
     
     @Autowired
     private NotificationService notificationService;
+    
+    @Autowired
+    private SagaCommandGateway commandGateway;
 
     @PostMapping("/order-confirmation")
-    public ResponseEntity<Map<String, Object>> sendOrderConfirmation(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> sendOrderConfirmation(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> request) {
+        if (idempotencyKey != null) {
+            return commandGateway.call(idempotencyKey, "SEND_NOTIFICATION", request, "Failed to send order confirmation: ");
+        }
         try {
             Notification notification = notificationService.sendOrderConfirmation(request);
             Map<String, Object> response = Map.of(
@@ -103,4 +111,4 @@ public class NotificationController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+}
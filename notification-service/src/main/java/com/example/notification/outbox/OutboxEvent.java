@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "outbox_events")
+@EntityListeners(OutboxTraceListener.class)
 public class OutboxEvent {
 
     @Id
@@ -23,6 +24,10 @@ public class OutboxEvent {
     @Column(name = "payload", columnDefinition = "JSON")
     private String payload;
 
+    // W3C traceparent of the span the event was written in; copied into a Kafka header
+    @Column(name = "trace_parent", length = 55)
+    private String traceParent;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -42,6 +47,8 @@ public class OutboxEvent {
     public void setEventType(String eventType) { this.eventType = eventType; }
     public String getPayload() { return payload; }
     public void setPayload(String payload) { this.payload = payload; }
+    public String getTraceParent() { return traceParent; }
+    public void setTraceParent(String traceParent) { this.traceParent = traceParent; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
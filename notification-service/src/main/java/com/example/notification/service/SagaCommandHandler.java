@@ -0,0 +1,44 @@
+package com.example.notification.service;
+
+import com.example.notification.entity.Notification;
+import com.example.notification.outbox.OutboxEvent;
+import com.example.notification.outbox.OutboxRepository;
+import com.demo.saga.ParticipantCommandHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+// This service's saga steps. Dedupe, recorded replies and failure handling are shared
+// (see ParticipantCommandHandler); replies go out through this service's outbox.
+@Service
+public class SagaCommandHandler extends ParticipantCommandHandler {
+    
+    private static final String REPLY_EVENT_TYPE = "SagaStepReply";
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Override
+    protected Map<String, Object> performStep(String stepName, Map<String, Object> payload) {
+        if (!"SEND_NOTIFICATION".equals(stepName)) {
+            throw new RuntimeException("Unsupported saga step: " + stepName);
+        }
+        Notification notification = notificationService.sendOrderConfirmation(payload);
+        return Map.of(
+                "notificationId", notification.getNotificationId(),
+                "type", notification.getType().toString(),
+                "status", notification.getStatus().toString(),
+                "channel", notification.getChannel().toString(),
+                "sentAt", notification.getSentAt()
+        );
+    }
+
+    @Override
+    protected void saveReply(String sagaId, String reply) {
+        outboxRepository.save(new OutboxEvent("Saga", sagaId, REPLY_EVENT_TYPE, reply));
+    }
+}
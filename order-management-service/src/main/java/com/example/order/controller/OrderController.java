@@ -2,6 +2,7 @@ package com.example.order.controller;
 
 import com.example.order.entity.Order;
 import com.example.order.service.OrderService;
+import com.demo.saga.SagaCommandGateway;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,9 +16,16 @@ public class OrderController {
     
     @Autowired
     private OrderService orderService;
+    
+    @Autowired
+    private SagaCommandGateway commandGateway;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createOrder(@RequestBody Map<String, Object> orderRequest) {
+    public ResponseEntity<Map<String, Object>> createOrder(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> orderRequest) {
+        if (idempotencyKey != null) {
+            return commandGateway.call(idempotencyKey, "CREATE_ORDER", orderRequest, "Failed to create order: ");
+        }
         try {
             Order order = orderService.createOrder(orderRequest);
             Map<String, Object> response = Map.of(
@@ -108,4 +116,4 @@ public class OrderController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+}
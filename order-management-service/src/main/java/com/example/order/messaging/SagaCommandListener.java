@@ -0,0 +1,20 @@
+package com.example.order.messaging;
+
+import com.demo.saga.SagaCommandGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SagaCommandListener {
+    
+    @Autowired
+    private SagaCommandGateway commandGateway;
+
+    @KafkaListener(
+            topics = "${saga.commands.topic:order-commands}",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer")
+    public void onCommand(String message) {
+        commandGateway.receive(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.order.service;
+
+import com.example.order.entity.Order;
+import com.example.order.outbox.OutboxEvent;
+import com.example.order.outbox.OutboxRepository;
+import com.demo.saga.ParticipantCommandHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+// This service's saga steps. Dedupe, recorded replies and failure handling are shared
+// (see ParticipantCommandHandler); replies go out through this service's outbox.
+@Service
+public class SagaCommandHandler extends ParticipantCommandHandler {
+    
+    private static final String REPLY_EVENT_TYPE = "SagaStepReply";
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Override
+    protected Map<String, Object> performStep(String stepName, Map<String, Object> payload) {
+        if (!"CREATE_ORDER".equals(stepName)) {
+            throw new RuntimeException("Unsupported saga step: " + stepName);
+        }
+        Order order = orderService.createOrder(payload);
+        return Map.of(
+                "orderId", order.getOrderId(),
+                "status", order.getStatus().toString(),
+                "totalAmount", order.getTotalAmount(),
+                "createdAt", order.getCreatedAt()
+        );
+    }
+
+    @Override
+    protected void saveReply(String sagaId, String reply) {
+        outboxRepository.save(new OutboxEvent("Saga", sagaId, REPLY_EVENT_TYPE, reply));
+    }
+}
@@ -2,9 +2,14 @@ package com.example.payment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.kafka.annotation.EnableKafka;
 
-@SpringBootApplication
+// Also scans the shared saga participant code (com.demo.saga)
+@SpringBootApplication(scanBasePackages = {"com.example.payment", "com.demo.saga"})
+@EntityScan(basePackages = {"com.example.payment", "com.demo.saga"})
+@EnableJpaRepositories(basePackages = {"com.example.payment", "com.demo.saga"})
 @EnableKafka
 public class PaymentServiceApplication {
 
@@ -2,6 +2,7 @@ package com.example.payment.controller;
 
 import com.example.payment.entity.Payment;
 import com.example.payment.service.PaymentService;
+import com.demo.saga.SagaCommandGateway;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +15,16 @@ public class PaymentController {
     
     @Autowired
     private PaymentService paymentService;
+    
+    @Autowired
+    private SagaCommandGateway commandGateway;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> processPayment(@RequestBody Map<String, Object> paymentRequest) {
+    public ResponseEntity<Map<String, Object>> processPayment(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> paymentRequest) {
+        if (idempotencyKey != null) {
+            return commandGateway.call(idempotencyKey, "PROCESS_PAYMENT", paymentRequest, "Failed to process payment: ");
+        }
         try {
             Payment payment = paymentService.processPayment(paymentRequest);
             Map<String, Object> response = Map.of(
@@ -101,4 +109,4 @@ public class PaymentController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.example.payment.outbox;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import jakarta.persistence.PrePersist;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Stamps each outbox row with the traceparent of the span it is written in (the consumed
+// saga command or the HTTP request). The outbox connector copies the column into a
+// traceparent Kafka header, so consumers continue the same trace.
+@Component
+public class OutboxTraceListener {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public OutboxTraceListener(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @PrePersist
+    public void stamp(OutboxEvent event) {
+        Span span = tracer.currentSpan();
+        if (span == null || event.getTraceParent() != null) {
+            return;
+        }
+        Map<String, String> carrier = new HashMap<>();
+        propagator.inject(span.context(), carrier, Map::put);
+        event.setTraceParent(carrier.get("traceparent"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.payment.service;
+
+import com.example.payment.entity.Payment;
+import com.example.payment.outbox.OutboxEvent;
+import com.example.payment.outbox.OutboxRepository;
+import com.demo.saga.ParticipantCommandHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+// This service's saga steps. Dedupe, recorded replies and failure handling are shared
+// (see ParticipantCommandHandler); replies go out through this service's outbox.
+@Service
+public class SagaCommandHandler extends ParticipantCommandHandler {
+    
+    private static final String REPLY_EVENT_TYPE = "SagaStepReply";
+    
+    @Autowired
+    private PaymentService paymentService;
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Override
+    protected Map<String, Object> performStep(String stepName, Map<String, Object> payload) {
+        if (!"PROCESS_PAYMENT".equals(stepName)) {
+            throw new RuntimeException("Unsupported saga step: " + stepName);
+        }
+        Payment payment = paymentService.processPayment(payload);
+        return Map.of(
+                "paymentId", payment.getPaymentId(),
+                "status", payment.getStatus().toString(),
+                "amount", payment.getAmount(),
+                "transactionId", payment.getTransactionId(),
+                "processedAt", payment.getProcessedAt()
+        );
+    }
+
+    @Override
+    protected void saveReply(String sagaId, String reply) {
+        outboxRepository.save(new OutboxEvent("Saga", sagaId, REPLY_EVENT_TYPE, reply));
+    }
+}
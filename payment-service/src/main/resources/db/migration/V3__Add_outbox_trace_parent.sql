@@ -0,0 +1,5 @@
+USE payment_service_db;
+
+-- W3C traceparent of the span each event was written in; the outbox connector forwards it
+-- to Kafka as a traceparent header
+ALTER TABLE outbox_events ADD COLUMN trace_parent VARCHAR(55) NULL;
@@ -1,17 +1,22 @@
 package com.example.saga.orchestrator.client;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @FeignClient(name = "inventory-service", url = "${services.inventory-service.url:http://localhost:8093}")
 public interface InventoryServiceClient {
     
-    @PostMapping("/api/inventory/reserve")
-    Map<String, Object> reserveInventory(@RequestBody Map<String, Object> reserveRequest);
+    // Saga step calls exchange raw JSON, with per-step timeouts passed as Request.Options.
+    // Forward steps carry an Idempotency-Key so a repeated call is processed only once.
+    @PostMapping(value = "/api/inventory/reserve", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String reserveInventory(@RequestHeader("Idempotency-Key") String idempotencyKey, @RequestBody String reserveRequest,
+                            Request.Options options);
     
-    @PutMapping("/api/inventory/release")
-    Map<String, Object> releaseInventory(@RequestBody Map<String, Object> releaseRequest);
+    @PutMapping(value = "/api/inventory/release", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String releaseInventory(@RequestBody String releaseRequest, Request.Options options);
     
     @GetMapping("/api/inventory/check")
     Map<String, Object> checkAvailability(@RequestParam String productId, 
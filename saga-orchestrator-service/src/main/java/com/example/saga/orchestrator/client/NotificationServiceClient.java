@@ -1,20 +1,25 @@
 package com.example.saga.orchestrator.client;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @FeignClient(name = "notification-service", url = "${services.notification-service.url:http://localhost:8094}")
 public interface NotificationServiceClient {
     
-    @PostMapping("/api/notifications/order-confirmation")
-    Map<String, Object> sendOrderConfirmation(@RequestBody Map<String, Object> notificationRequest);
+    // Saga step calls exchange raw JSON, with per-step timeouts passed as Request.Options.
+    // Forward steps carry an Idempotency-Key so a repeated call is processed only once.
+    @PostMapping(value = "/api/notifications/order-confirmation", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String sendOrderConfirmation(@RequestHeader("Idempotency-Key") String idempotencyKey, @RequestBody String notificationRequest,
+                                 Request.Options options);
     
     @PostMapping("/api/notifications/payment-confirmation")
     Map<String, Object> sendPaymentConfirmation(@RequestBody Map<String, Object> notificationRequest);
     
-    @PostMapping("/api/notifications/order-cancellation")
-    Map<String, Object> sendOrderCancellation(@RequestBody Map<String, Object> notificationRequest);
+    @PostMapping(value = "/api/notifications/order-cancellation", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String sendOrderCancellation(@RequestBody String notificationRequest, Request.Options options);
     
     @PostMapping("/api/notifications/order-failure")
     Map<String, Object> sendOrderFailure(@RequestBody Map<String, Object> notificationRequest);
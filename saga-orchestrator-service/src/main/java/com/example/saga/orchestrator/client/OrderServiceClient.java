@@ -1,18 +1,22 @@
 package com.example.saga.orchestrator.client;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @FeignClient(name = "order-service", url = "${services.order-service.url:http://localhost:8091}")
 public interface OrderServiceClient {
     
-    @PostMapping("/api/orders")
-    Map<String, Object> createOrder(@RequestBody Map<String, Object> orderRequest);
+    // Saga step calls exchange raw JSON, with per-step timeouts passed as Request.Options.
+    // Forward steps carry an Idempotency-Key so a repeated call is processed only once.
+    @PostMapping(value = "/api/orders", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String createOrder(@RequestHeader("Idempotency-Key") String idempotencyKey, @RequestBody String orderRequest,
+                       Request.Options options);
     
-    @PutMapping("/api/orders/{orderId}/cancel")
-    Map<String, Object> cancelOrder(@PathVariable String orderId, 
-                                   @RequestBody Map<String, Object> cancelRequest);
+    @PutMapping(value = "/api/orders/{orderId}/cancel", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String cancelOrder(@PathVariable String orderId, @RequestBody String cancelRequest, Request.Options options);
     
     @GetMapping("/api/orders/{orderId}")
     Map<String, Object> getOrder(@PathVariable String orderId);
@@ -0,0 +1,179 @@
+package com.example.saga.orchestrator.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The feign.Client behind every participant Feign client. Each Feign client (one per
+// participant host) gets its own transport, chosen by saga.http.<client>.client:
+//   hc5          pooled Apache HttpClient 5 over HTTP/1.1 with keep-alive (default)
+//   http2        JDK HttpClient, HTTP/2 where the participant accepts it, else HTTP/1.1
+//   url-connection  Feign's HttpURLConnection client, a new connection per call
+//
+// hc5 pools are sized and tuned per client, each falling back to saga.http.default.*:
+//   saga.http.<client>.max-connections        pooled connections to the participant
+//   saga.http.<client>.keep-alive-seconds     upper bound on idle reuse; keep it below the
+//                                             participant's own keep-alive timeout so the
+//                                             pool never hands out a connection the server closed
+//   saga.http.<client>.idle-eviction-seconds  idle connections older than this are closed
+//
+// saga.http.<client>.codec selects the payload encoding on any transport: smile (default)
+// sends and accepts Smile, falling back to JSON for participants that answer 415 (see
+// SmileTranscodingClient); json never tries Smile.
+//
+// Calls are counted as saga.http.requests and new hc5 connections as saga.http.connections.opened,
+// both tagged by client, so 1 - opened/requests is the connection reuse rate; pool occupancy is
+// published as httpcomponents.httpclient.pool.*.
+@Component
+public class ParticipantHttpClients implements Client, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticipantHttpClients.class);
+
+    static final String HC5 = "hc5";
+    static final String HTTP2 = "http2";
+    static final String URL_CONNECTION = "url-connection";
+
+    static final String JSON = "json";
+    static final String SMILE = "smile";
+
+    private record Transport(Client client, Counter requests) {
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Transport> transports = new ConcurrentHashMap<>();
+    private final List<CloseableHttpClient> pooledClients = new ArrayList<>();
+
+    public ParticipantHttpClients(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Transport transport = transports.computeIfAbsent(clientName(request), this::create);
+        transport.requests().increment();
+        return transport.client().execute(request, options);
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (pooledClients) {
+            for (CloseableHttpClient httpClient : pooledClients) {
+                try {
+                    httpClient.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close pooled HTTP client", e);
+                }
+            }
+        }
+    }
+
+    // The @FeignClient name, e.g. payment-service; the host for requests built outside a Feign target
+    private String clientName(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+            return request.requestTemplate().feignTarget().name();
+        }
+        return URI.create(request.url()).getAuthority();
+    }
+
+    private Transport create(String name) {
+        String type = setting(name, "client", String.class, HC5);
+        Client client = switch (type) {
+            case HC5 -> pooledClient(name);
+            case HTTP2 -> new Http2Client(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build());
+            case URL_CONNECTION -> new Client.Default(null, null);
+            default -> throw new IllegalStateException("Unknown HTTP client '" + type + "' for " + name);
+        };
+        String codec = setting(name, "codec", String.class, SMILE);
+        switch (codec) {
+            case SMILE -> client = new SmileTranscodingClient(name, client);
+            case JSON -> {
+            }
+            default -> throw new IllegalStateException("Unknown codec '" + codec + "' for " + name);
+        }
+        logger.info("Feign client {} uses the {} HTTP transport with {} payloads", name, type, codec);
+
+        Counter requests = Counter.builder("saga.http.requests")
+                .description("HTTP calls made to participants")
+                .tag("client", name)
+                .tag("transport", type)
+                .tag("codec", codec)
+                .register(meterRegistry);
+        return new Transport(client, requests);
+    }
+
+    private Client pooledClient(String name) {
+        int maxConnections = setting(name, "max-connections", Integer.class, 64);
+        TimeValue keepAlive = TimeValue.ofSeconds(setting(name, "keep-alive-seconds", Long.class, 15L));
+        TimeValue idleEviction = TimeValue.ofSeconds(setting(name, "idle-eviction-seconds", Long.class, 30L));
+
+        Counter opened = Counter.builder("saga.http.connections.opened")
+                .description("Connections opened to participants; each call that opens none reused one")
+                .tag("client", name)
+                .register(meterRegistry);
+
+        // One client per participant host, so the per-route and total limits are the same pool
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .setConnectionFactory(socket -> {
+                    opened.increment();
+                    return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+                })
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // Honours a shorter Keep-Alive from the participant, never a longer one
+                .setKeepAliveStrategy((response, context) ->
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context).min(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEviction)
+                // SagaRetryPolicy decides retries; the transport must not replay calls on its own
+                .disableAutomaticRetries()
+                .build();
+        synchronized (pooledClients) {
+            pooledClients.add(httpClient);
+        }
+        return new ApacheHttp5Client(httpClient);
+    }
+
+    private <V> V setting(String name, String key, Class<V> type, V defaultValue) {
+        V fallback = environment.getProperty("saga.http.default." + key, type, defaultValue);
+        return environment.getProperty("saga.http." + name + "." + key, type, fallback);
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.saga.orchestrator.client;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @FeignClient(name = "payment-service", url = "${services.payment-service.url:http://localhost:8092}")
 public interface PaymentServiceClient {
     
-    @PostMapping("/api/payments")
-    Map<String, Object> processPayment(@RequestBody Map<String, Object> paymentRequest);
+    // Saga step calls exchange raw JSON, with per-step timeouts passed as Request.Options.
+    // Forward steps carry an Idempotency-Key so a repeated call is processed only once.
+    @PostMapping(value = "/api/payments", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String processPayment(@RequestHeader("Idempotency-Key") String idempotencyKey, @RequestBody String paymentRequest,
+                          Request.Options options);
     
-    @PutMapping("/api/payments/{paymentId}/refund")
-    Map<String, Object> refundPayment(@PathVariable String paymentId, 
-                                     @RequestBody Map<String, Object> refundRequest);
+    @PutMapping(value = "/api/payments/{paymentId}/refund", consumes = MediaType.APPLICATION_JSON_VALUE)
+    String refundPayment(@PathVariable String paymentId, @RequestBody String refundRequest, Request.Options options);
     
     @GetMapping("/api/payments/{paymentId}")
     Map<String, Object> getPayment(@PathVariable String paymentId);
@@ -0,0 +1,121 @@
+package com.example.saga.orchestrator.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Sends step payloads to a participant as Smile (binary JSON) and turns Smile responses
+// back into JSON, so step handlers and saga_steps keep working with JSON text. Tokens are
+// copied one by one without binding to objects; decimals go over as exact BigDecimals.
+//
+// Participants that do not accept Smile answer 415; the call is then repeated as JSON and
+// every later call from this client stays JSON.
+class SmileTranscodingClient implements Client {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmileTranscodingClient.class);
+
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String JSON = "application/json";
+    private static final String ACCEPT = SMILE + ", " + JSON + ";q=0.9";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private final String name;
+    private final Client delegate;
+    private volatile boolean jsonOnly;
+
+    SmileTranscodingClient(String name, Client delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (jsonOnly) {
+            return delegate.execute(request, options);
+        }
+
+        Response response = delegate.execute(toSmile(request), options);
+        if (response.status() == 415) {
+            response.close();
+            jsonOnly = true;
+            logger.warn("{} does not accept {}, falling back to JSON", name, SMILE);
+            return delegate.execute(request, options);
+        }
+        return toJson(response);
+    }
+
+    private Request toSmile(Request request) throws IOException {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put("Accept", List.of(ACCEPT));
+
+        byte[] body = request.body();
+        if (body == null || body.length == 0 || !isJson(headers.get("Content-Type"))) {
+            return Request.create(request.httpMethod(), request.url(), headers, body, request.charset(),
+                    request.requestTemplate());
+        }
+        headers.put("Content-Type", List.of(SMILE));
+        headers.remove("Content-Length");
+        return Request.create(request.httpMethod(), request.url(), headers,
+                transcode(JSON_FACTORY.createParser(body), SMILE_FACTORY), null, request.requestTemplate());
+    }
+
+    private Response toJson(Response response) throws IOException {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        if (response.body() == null || !isSmile(headers.get("Content-Type"))) {
+            return response;
+        }
+
+        byte[] json;
+        try (InputStream body = response.body().asInputStream()) {
+            json = transcode(SMILE_FACTORY.createParser(body), JSON_FACTORY);
+        }
+        headers.put("Content-Type", List.of(JSON));
+        headers.remove("Content-Length");
+        return response.toBuilder()
+                .headers(headers)
+                .body(json)
+                .build();
+    }
+
+    private static byte[] transcode(JsonParser parser, JsonFactory target) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (parser; JsonGenerator generator = target.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                // Textual floats would otherwise be copied as doubles
+                if (parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(parser.getDecimalValue());
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isJson(Collection<String> contentType) {
+        return contentType != null && contentType.stream().anyMatch(value -> value.startsWith(JSON));
+    }
+
+    private static boolean isSmile(Collection<String> contentType) {
+        return contentType != null && contentType.stream().anyMatch(value -> value.startsWith(SMILE));
+    }
+}
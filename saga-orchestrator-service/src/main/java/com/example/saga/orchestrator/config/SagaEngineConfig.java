@@ -0,0 +1,107 @@
+package com.example.saga.orchestrator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SagaEngineConfig {
+
+    @Bean(name = "sagaExecutor")
+    public ThreadPoolTaskExecutor sagaExecutor(
+            @Value("${saga.engine.core-pool-size:16}") int corePoolSize,
+            @Value("${saga.engine.max-pool-size:64}") int maxPoolSize,
+            @Value("${saga.engine.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-engine-");
+        // A saturated pool rejects work instead of running it on the submitting thread, which
+        // may be a request, scheduler or Kafka listener thread. Sagas are persisted before they
+        // get here: SagaIntake requeues rejected starts and the partition poller resumes the rest.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "sagaSnapshotExecutor")
+    public ThreadPoolTaskExecutor sagaSnapshotExecutor(
+            @Value("${saga.snapshot.pool-size:2}") int poolSize,
+            @Value("${saga.snapshot.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-snapshot-");
+        // Snapshots are requested from commit callbacks, which must not fold inline; a saturated
+        // queue defers the request to SagaSnapshotter's retry instead
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs long maintenance jobs (timeout sweeps, archival) handed off by their @Scheduled
+    // triggers, so they never hold up the shared scheduler thread. Each job keeps at most
+    // one run in flight, hence one thread per job and no queue.
+    @Bean(name = "sagaMaintenanceExecutor")
+    public ThreadPoolTaskExecutor sagaMaintenanceExecutor(
+            @Value("${saga.maintenance.pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("saga-maintenance-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Replies the engine cannot take while its worker pool is full are redelivered after a pause,
+    // which also holds the listener back until workers free up
+    @Bean
+    public DefaultErrorHandler sagaReplyErrorHandler(
+            @Value("${saga.kafka.redelivery-interval-ms:500}") long intervalMillis,
+            @Value("${saga.kafka.redelivery-attempts:120}") long maxAttempts) {
+        return new DefaultErrorHandler(new FixedBackOff(intervalMillis, maxAttempts));
+    }
+
+    // Writes to progress streams; a subscriber whose queue cannot be scheduled is
+    // disconnected (see SagaProgressStreams) rather than slowing the engine down
+    @Bean(name = "sagaStreamExecutor")
+    public ThreadPoolTaskExecutor sagaStreamExecutor(
+            @Value("${saga.stream.pool-size:4}") int poolSize,
+            @Value("${saga.stream.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Carries progress published by the nodes driving sagas to the nodes holding their
+    // streams; channels are subscribed only while a local stream needs them
+    @Bean
+    public RedisMessageListenerContainer sagaProgressListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setRecoveryInterval(5000);
+        return container;
+    }
+}
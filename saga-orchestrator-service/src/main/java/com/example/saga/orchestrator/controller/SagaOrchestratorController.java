@@ -1,14 +1,38 @@
 package com.example.saga.orchestrator.controller;
 
+import com.example.saga.orchestrator.entity.SagaEvent;
 import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.BatchSagaResponse;
 import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaPage;
 import com.example.saga.orchestrator.model.SagaResponse;
+import com.example.saga.orchestrator.model.SagaSummary;
+import com.example.saga.orchestrator.service.IdempotencyKeyConflictException;
 import com.example.saga.orchestrator.service.OrderSagaOrchestrator;
+import com.example.saga.orchestrator.service.OrderSagaOrchestrator.StartedSaga;
+import com.example.saga.orchestrator.service.SagaIntake;
+import com.example.saga.orchestrator.service.SagaIntakeRejectedException;
+import com.example.saga.orchestrator.service.SagaProgressStreams;
+import com.example.saga.orchestrator.service.SagaStreamLimitException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -16,21 +40,118 @@ import java.util.Map;
 @RequestMapping("/api/saga")
 public class SagaOrchestratorController {
     
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    private static final String SAGA_PRIORITY = "Saga-Priority";
+    
     @Autowired
     private OrderSagaOrchestrator sagaOrchestrator;
+    
+    @Autowired
+    private SagaProgressStreams progressStreams;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${saga.batch.max-size:500}")
+    private int maxBatchSize;
+    
+    @Value("${saga.list.max-page-size:500}")
+    private int maxPageSize;
 
+    // Retries carrying the same Idempotency-Key get the saga of the first request back.
+    // Saga-Priority (HIGH, NORMAL, LOW) picks the intake lane; a full lane answers 429.
     @PostMapping("/orders")
-    public ResponseEntity<SagaResponse> startOrderSaga(@Valid @RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<SagaResponse> startOrderSaga(@Valid @RequestBody OrderRequest orderRequest,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                      @RequestHeader(value = SAGA_PRIORITY, required = false) String priority) {
         try {
-            String sagaId = sagaOrchestrator.startOrderSaga(orderRequest);
-            return ResponseEntity.ok(SagaResponse.inProgress(sagaId, 
-                    "Order saga started successfully"));
+            validateIdempotencyKey(idempotencyKey);
+            StartedSaga started = sagaOrchestrator.startOrderSaga(orderRequest, idempotencyKey, parsePriority(priority));
+            return started(started, "Order saga started successfully");
+        } catch (SagaIntakeRejectedException e) {
+            return tooManyRequests(e, SagaResponse.failed(null, e.getMessage()));
+        } catch (IdempotencyKeyConflictException e) {
+            return ResponseEntity.unprocessableEntity().body(SagaResponse.failed(null, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                     SagaResponse.failed(null, "Failed to start order saga: " + e.getMessage()));
         }
     }
 
+    @PostMapping("/orders/batch")
+    public ResponseEntity<BatchSagaResponse> startOrderSagas(@RequestBody List<OrderRequest> orderRequests,
+                                                             @RequestHeader(value = SAGA_PRIORITY, required = false) String priority) {
+        if (orderRequests.isEmpty() || orderRequests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(new BatchSagaResponse(List.of(BatchSagaResponse.Item.rejected(-1,
+                    List.of("Batch must contain between 1 and " + maxBatchSize + " orders")))));
+        }
+        
+        // Invalid orders are reported per item instead of failing the whole batch
+        BatchSagaResponse.Item[] items = new BatchSagaResponse.Item[orderRequests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < orderRequests.size(); i++) {
+            List<String> errors = validator.validate(orderRequests.get(i)).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                items[i] = BatchSagaResponse.Item.rejected(i, errors);
+            }
+        }
+        
+        try {
+            if (!validIndexes.isEmpty()) {
+                List<String> sagaIds = sagaOrchestrator.startOrderSagas(
+                        validIndexes.stream().map(orderRequests::get).toList(), parsePriority(priority));
+                for (int i = 0; i < validIndexes.size(); i++) {
+                    int index = validIndexes.get(i);
+                    items[index] = BatchSagaResponse.Item.accepted(index, sagaIds.get(i));
+                }
+            }
+            return ResponseEntity.ok(new BatchSagaResponse(Arrays.asList(items)));
+        } catch (SagaIntakeRejectedException e) {
+            return tooManyRequests(e, new BatchSagaResponse(List.of(BatchSagaResponse.Item.rejected(-1,
+                    List.of(e.getMessage())))));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new BatchSagaResponse(List.of(BatchSagaResponse.Item.rejected(-1,
+                    List.of("Failed to start order saga batch: " + e.getMessage())))));
+        }
+    }
+
+    // Any registered saga type; the body is bound to that type's request class
+    @PostMapping("/start/{sagaType}")
+    public ResponseEntity<SagaResponse> startSaga(@PathVariable String sagaType, @RequestBody JsonNode body,
+                                                  @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                  @RequestHeader(value = SAGA_PRIORITY, required = false) String priority) {
+        try {
+            validateIdempotencyKey(idempotencyKey);
+            Object request = objectMapper.treeToValue(body, sagaOrchestrator.getRequestType(sagaType));
+            List<String> errors = validator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            if (!errors.isEmpty()) {
+                return ResponseEntity.badRequest().body(SagaResponse.failed(null, "Invalid request: " + errors));
+            }
+            StartedSaga started = sagaOrchestrator.startSaga(sagaType, request, idempotencyKey, parsePriority(priority));
+            return started(started, sagaType + " started successfully");
+        } catch (SagaIntakeRejectedException e) {
+            return tooManyRequests(e, SagaResponse.failed(null, e.getMessage()));
+        } catch (IdempotencyKeyConflictException e) {
+            return ResponseEntity.unprocessableEntity().body(SagaResponse.failed(null, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    SagaResponse.failed(null, "Failed to start saga: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/status/{sagaId}")
     public ResponseEntity<SagaResponse> getSagaStatus(@PathVariable String sagaId) {
         try {
@@ -43,16 +164,70 @@ public class SagaOrchestratorController {
         }
     }
 
+    // Server-sent events instead of polling /status: the saga's current state, then its
+    // state after every step transition; the stream ends once the saga is terminal.
+    // Each "progress" event carries a SagaProgress with id <sagaId>:<seq>.
+    @GetMapping(value = "/stream/{sagaId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSaga(@PathVariable String sagaId) {
+        return stream(List.of(sagaId));
+    }
+
+    // Several sagas over one connection, e.g. /stream?sagaIds=a,b,c; ends once all are terminal
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSagas(@RequestParam List<String> sagaIds) {
+        return stream(sagaIds);
+    }
+
+    @GetMapping("/events/{sagaId}")
+    public ResponseEntity<List<SagaEvent>> getSagaHistory(@PathVariable String sagaId) {
+        try {
+            List<SagaEvent> events = sagaOrchestrator.getSagaHistory(sagaId);
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Newest first; pass the returned nextCursor back to get the following page
     @GetMapping("/all")
-    public ResponseEntity<List<SagaTransaction>> getAllSagas() {
+    public ResponseEntity<SagaPage> getAllSagas(@RequestParam(required = false) String status,
+                                                @RequestParam(required = false) String sagaType,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<SagaTransaction> sagas = sagaOrchestrator.getAllSagas();
-            return ResponseEntity.ok(sagas);
+            if (limit < 1 || limit > maxPageSize) {
+                throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+            }
+            SagaPage page = sagaOrchestrator.listSagas(parseStatus(status), sagaType, cursor, limit);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Every matching saga as newline-delimited JSON, streamed from a database cursor
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSagas(@RequestParam(required = false) String status,
+                                                             @RequestParam(required = false) String sagaType) {
+        SagaTransaction.SagaStatus sagaStatus;
+        try {
+            sagaStatus = parseStatus(status);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ObjectWriter writer = objectMapper.writerFor(SagaSummary.class);
+        StreamingResponseBody body = out -> sagaOrchestrator.exportSagas(sagaStatus, sagaType, summary -> {
+            try {
+                out.write(writer.writeValueAsBytes(summary));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping("/retry/{sagaId}")
     public ResponseEntity<SagaResponse> retrySaga(@PathVariable String sagaId) {
         try {
@@ -68,8 +243,7 @@ public class SagaOrchestratorController {
     @PostMapping("/compensate/{sagaId}")
     public ResponseEntity<SagaResponse> compensateSaga(@PathVariable String sagaId) {
         try {
-            SagaTransaction saga = sagaOrchestrator.getSagaStatus(sagaId);
-            sagaOrchestrator.compensateSaga(saga);
+            sagaOrchestrator.compensateSaga(sagaId);
             return ResponseEntity.ok(SagaResponse.success(sagaId, 
                     "Saga compensation initiated"));
         } catch (Exception e) {
@@ -86,4 +260,43 @@ public class SagaOrchestratorController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<SseEmitter> stream(List<String> sagaIds) {
+        try {
+            return ResponseEntity.ok(progressStreams.subscribe(sagaIds));
+        } catch (SagaStreamLimitException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<SagaResponse> started(StartedSaga started, String message) {
+        if (started.replayed()) {
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, "true")
+                    .body(SagaResponse.inProgress(started.sagaId(), "Saga already started for this Idempotency-Key"));
+        }
+        return ResponseEntity.ok(SagaResponse.inProgress(started.sagaId(), message));
+    }
+
+    private <B> ResponseEntity<B> tooManyRequests(SagaIntakeRejectedException e, B body) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    private SagaIntake.Priority parsePriority(String priority) {
+        return priority != null ? SagaIntake.Priority.valueOf(priority.toUpperCase()) : SagaIntake.Priority.NORMAL;
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+    }
+
+    private SagaTransaction.SagaStatus parseStatus(String status) {
+        return status != null ? SagaTransaction.SagaStatus.valueOf(status.toUpperCase()) : null;
+    }
+}
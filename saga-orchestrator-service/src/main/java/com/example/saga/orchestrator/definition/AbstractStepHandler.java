@@ -0,0 +1,65 @@
+package com.example.saga.orchestrator.definition;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.service.SagaStepCodec;
+import feign.Request;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Base for Feign-backed step handlers. Limits come from properties, per step name:
+//   saga.steps.<STEP_NAME>.timeout-ms       (falls back to saga.steps.default.timeout-ms)
+//   saga.steps.<STEP_NAME>.max-concurrency  (falls back to saga.steps.default.max-concurrency)
+public abstract class AbstractStepHandler<T> implements StepHandler<T> {
+
+    @Autowired
+    protected SagaStepCodec codec;
+
+    @Autowired
+    private Environment environment;
+
+    private Duration timeout;
+    private int maxConcurrency;
+    private Request.Options requestOptions;
+
+    @PostConstruct
+    void initLimits() {
+        long timeoutMillis = limit("timeout-ms", 10000);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.maxConcurrency = (int) limit("max-concurrency", 64);
+        this.requestOptions = new Request.Options(
+                Math.min(timeoutMillis, 5000), TimeUnit.MILLISECONDS, timeoutMillis, TimeUnit.MILLISECONDS, true);
+    }
+
+    @Override
+    public StepCompensation prepareCompensation(String sagaId, SagaStep step) {
+        return null;
+    }
+
+    @Override
+    public void compensate(StepCompensation compensation) {
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // Per-call Feign options carrying this step's timeout
+    protected Request.Options requestOptions() {
+        return requestOptions;
+    }
+
+    private long limit(String name, long defaultValue) {
+        Long fallback = environment.getProperty("saga.steps.default." + name, Long.class, defaultValue);
+        return environment.getProperty("saga.steps." + getStepName() + "." + name, Long.class, fallback);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.saga.orchestrator.definition;
+
+import com.example.saga.orchestrator.service.SagaStepGraph;
+
+import java.util.List;
+
+// A saga type: the request that starts it, its steps and the dependencies between them.
+// Definitions are Spring beans, collected by SagaDefinitions at startup; adding a saga
+// type means adding a definition and its step handlers, nothing in the engine.
+public interface SagaDefinition<T> {
+
+    // Stored as saga_transactions.saga_type
+    String getSagaType();
+
+    // Body of the request that starts a saga of this type
+    Class<T> getRequestType();
+
+    // In step-number order
+    List<? extends StepHandler<T>> getSteps();
+
+    // Steps without a path between them run concurrently
+    SagaStepGraph getStepGraph();
+}
@@ -0,0 +1,6 @@
+package com.example.saga.orchestrator.definition;
+
+// A compensating call: the id it targets (if the endpoint takes one) and its JSON body.
+// The body is recorded in the step's STEP_COMPENSATING event before the call is made.
+public record StepCompensation(String resourceId, String body) {
+}
@@ -0,0 +1,34 @@
+package com.example.saga.orchestrator.definition;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+
+import java.time.Duration;
+
+// One step of a saga type: how its request is built, the call that performs it and the
+// call that undoes it. Requests and responses are JSON strings, stored as-is on the step.
+public interface StepHandler<T> {
+
+    String getStepName();
+
+    // Recorded as saga_steps.service_name
+    String getParticipant();
+
+    // Built once when the saga is created; serialized by SagaStepCodec
+    Object buildRequest(String sagaId, T sagaRequest);
+
+    // Performs the step with the stored request and returns the participant's response.
+    // The call is repeated with the same idempotency key when its outcome was never seen
+    // (a crash or takeover mid-call), so participants must process each key only once.
+    String execute(String idempotencyKey, String request);
+
+    // The compensating call for a completed step, or null when there is nothing to undo
+    StepCompensation prepareCompensation(String sagaId, SagaStep step);
+
+    void compensate(StepCompensation compensation);
+
+    // Upper bound for one call to the participant
+    Duration getTimeout();
+
+    // Steps of this handler in flight at once on this node, across all sagas
+    int getMaxConcurrency();
+}
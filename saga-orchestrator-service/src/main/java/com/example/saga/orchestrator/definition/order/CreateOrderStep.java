@@ -0,0 +1,55 @@
+package com.example.saga.orchestrator.definition.order;
+
+import com.example.saga.orchestrator.client.OrderServiceClient;
+import com.example.saga.orchestrator.definition.AbstractStepHandler;
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.CancelOrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.CreateOrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.OrderCreated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CreateOrderStep extends AbstractStepHandler<OrderRequest> {
+
+    @Autowired
+    private OrderServiceClient orderServiceClient;
+
+    @Override
+    public String getStepName() {
+        return "CREATE_ORDER";
+    }
+
+    @Override
+    public String getParticipant() {
+        return "order-service";
+    }
+
+    @Override
+    public Object buildRequest(String sagaId, OrderRequest order) {
+        return new CreateOrderRequest(sagaId, order.getCustomerId(), order.getItems(),
+                order.getTotalAmount(), order.getShippingAddress());
+    }
+
+    @Override
+    public String execute(String idempotencyKey, String request) {
+        return orderServiceClient.createOrder(idempotencyKey, request, requestOptions());
+    }
+
+    @Override
+    public StepCompensation prepareCompensation(String sagaId, SagaStep step) {
+        String orderId = step.getResponsePayload() == null ? null
+                : codec.read(step.getResponsePayload(), OrderCreated.class).orderId();
+        if (orderId == null) {
+            return null;
+        }
+        return new StepCompensation(orderId, codec.write(new CancelOrderRequest(sagaId, orderId, OrderSagaDefinition.COMPENSATION_REASON)));
+    }
+
+    @Override
+    public void compensate(StepCompensation compensation) {
+        orderServiceClient.cancelOrder(compensation.resourceId(), compensation.body(), requestOptions());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.saga.orchestrator.definition.order;
+
+import com.example.saga.orchestrator.definition.SagaDefinition;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.service.SagaStepGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class OrderSagaDefinition implements SagaDefinition<OrderRequest> {
+
+    public static final String SAGA_TYPE = "ORDER_SAGA";
+
+    static final String COMPENSATION_REASON = "Saga compensation";
+
+    // Inventory and payment only need the order to exist, so they run side by side
+    // and the confirmation waits for both
+    private static final SagaStepGraph STEP_GRAPH = SagaStepGraph.builder()
+            .step("CREATE_ORDER")
+            .step("RESERVE_INVENTORY", "CREATE_ORDER")
+            .step("PROCESS_PAYMENT", "CREATE_ORDER")
+            .step("SEND_NOTIFICATION", "RESERVE_INVENTORY", "PROCESS_PAYMENT")
+            .build();
+
+    @Autowired
+    private CreateOrderStep createOrderStep;
+
+    @Autowired
+    private ReserveInventoryStep reserveInventoryStep;
+
+    @Autowired
+    private ProcessPaymentStep processPaymentStep;
+
+    @Autowired
+    private SendNotificationStep sendNotificationStep;
+
+    @Override
+    public String getSagaType() {
+        return SAGA_TYPE;
+    }
+
+    @Override
+    public Class<OrderRequest> getRequestType() {
+        return OrderRequest.class;
+    }
+
+    @Override
+    public List<? extends StepHandler<OrderRequest>> getSteps() {
+        return List.of(createOrderStep, reserveInventoryStep, processPaymentStep, sendNotificationStep);
+    }
+
+    @Override
+    public SagaStepGraph getStepGraph() {
+        return STEP_GRAPH;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.saga.orchestrator.definition.order;
+
+import com.example.saga.orchestrator.client.PaymentServiceClient;
+import com.example.saga.orchestrator.definition.AbstractStepHandler;
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.PaymentProcessed;
+import com.example.saga.orchestrator.model.SagaStepPayloads.ProcessPaymentRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.RefundPaymentRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProcessPaymentStep extends AbstractStepHandler<OrderRequest> {
+
+    @Autowired
+    private PaymentServiceClient paymentServiceClient;
+
+    @Override
+    public String getStepName() {
+        return "PROCESS_PAYMENT";
+    }
+
+    @Override
+    public String getParticipant() {
+        return "payment-service";
+    }
+
+    @Override
+    public Object buildRequest(String sagaId, OrderRequest order) {
+        return new ProcessPaymentRequest(sagaId, order.getCustomerId(), order.getTotalAmount(), order.getPaymentMethod());
+    }
+
+    @Override
+    public String execute(String idempotencyKey, String request) {
+        return paymentServiceClient.processPayment(idempotencyKey, request, requestOptions());
+    }
+
+    @Override
+    public StepCompensation prepareCompensation(String sagaId, SagaStep step) {
+        String paymentId = step.getResponsePayload() == null ? null
+                : codec.read(step.getResponsePayload(), PaymentProcessed.class).paymentId();
+        if (paymentId == null) {
+            return null;
+        }
+        return new StepCompensation(paymentId, codec.write(new RefundPaymentRequest(sagaId, paymentId, OrderSagaDefinition.COMPENSATION_REASON)));
+    }
+
+    @Override
+    public void compensate(StepCompensation compensation) {
+        paymentServiceClient.refundPayment(compensation.resourceId(), compensation.body(), requestOptions());
+    }
+}
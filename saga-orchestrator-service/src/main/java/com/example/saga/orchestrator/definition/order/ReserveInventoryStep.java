@@ -0,0 +1,49 @@
+package com.example.saga.orchestrator.definition.order;
+
+import com.example.saga.orchestrator.client.InventoryServiceClient;
+import com.example.saga.orchestrator.definition.AbstractStepHandler;
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.ReleaseInventoryRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.ReserveInventoryRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReserveInventoryStep extends AbstractStepHandler<OrderRequest> {
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Override
+    public String getStepName() {
+        return "RESERVE_INVENTORY";
+    }
+
+    @Override
+    public String getParticipant() {
+        return "inventory-service";
+    }
+
+    @Override
+    public Object buildRequest(String sagaId, OrderRequest order) {
+        return new ReserveInventoryRequest(sagaId, order.getItems());
+    }
+
+    @Override
+    public String execute(String idempotencyKey, String request) {
+        return inventoryServiceClient.reserveInventory(idempotencyKey, request, requestOptions());
+    }
+
+    // Reservations are released by sagaId
+    @Override
+    public StepCompensation prepareCompensation(String sagaId, SagaStep step) {
+        return new StepCompensation(null, codec.write(new ReleaseInventoryRequest(sagaId)));
+    }
+
+    @Override
+    public void compensate(StepCompensation compensation) {
+        inventoryServiceClient.releaseInventory(compensation.body(), requestOptions());
+    }
+}
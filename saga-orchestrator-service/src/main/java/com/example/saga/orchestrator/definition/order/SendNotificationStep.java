@@ -0,0 +1,50 @@
+package com.example.saga.orchestrator.definition.order;
+
+import com.example.saga.orchestrator.client.NotificationServiceClient;
+import com.example.saga.orchestrator.definition.AbstractStepHandler;
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.model.OrderRequest;
+import com.example.saga.orchestrator.model.SagaStepPayloads.NotificationRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SendNotificationStep extends AbstractStepHandler<OrderRequest> {
+
+    @Autowired
+    private NotificationServiceClient notificationServiceClient;
+
+    @Override
+    public String getStepName() {
+        return "SEND_NOTIFICATION";
+    }
+
+    @Override
+    public String getParticipant() {
+        return "notification-service";
+    }
+
+    @Override
+    public Object buildRequest(String sagaId, OrderRequest order) {
+        return new NotificationRequest(sagaId, order.getCustomerId(), "ORDER_CONFIRMATION");
+    }
+
+    @Override
+    public String execute(String idempotencyKey, String request) {
+        return notificationServiceClient.sendOrderConfirmation(idempotencyKey, request, requestOptions());
+    }
+
+    // A sent confirmation cannot be recalled; the customer is told about the cancellation
+    @Override
+    public StepCompensation prepareCompensation(String sagaId, SagaStep step) {
+        NotificationRequest confirmation = codec.read(step.getRequestPayload(), NotificationRequest.class);
+        return new StepCompensation(null, codec.write(
+                new NotificationRequest(sagaId, confirmation.customerId(), "ORDER_CANCELLATION")));
+    }
+
+    @Override
+    public void compensate(StepCompensation compensation) {
+        notificationServiceClient.sendOrderCancellation(compensation.body(), requestOptions());
+    }
+}
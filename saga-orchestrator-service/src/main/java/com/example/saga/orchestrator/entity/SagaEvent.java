@@ -0,0 +1,112 @@
+package com.example.saga.orchestrator.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "saga_events")
+public class SagaEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "saga_id", nullable = false)
+    private String sagaId;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Column(name = "event_data", columnDefinition = "JSON", nullable = false)
+    private String eventData;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SagaEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public SagaEvent(String sagaId, Integer seq, EventType eventType, String eventData) {
+        this();
+        this.sagaId = sagaId;
+        this.seq = seq;
+        this.eventType = eventType;
+        this.eventData = eventData;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public void setSagaId(String sagaId) {
+        this.sagaId = sagaId;
+    }
+
+    public Integer getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getEventData() {
+        return eventData;
+    }
+
+    public void setEventData(String eventData) {
+        this.eventData = eventData;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isTerminal() {
+        return eventType == EventType.SAGA_COMPLETED
+                || eventType == EventType.SAGA_COMPENSATED
+                || eventType == EventType.SAGA_FAILED;
+    }
+
+    public enum EventType {
+        EXECUTION_STARTED,
+        RETRY_REQUESTED,
+        STEPS_STARTED,
+        STEP_COMPLETED,
+        STEP_FAILED,
+        STEP_RETRY_SCHEDULED,
+        SAGA_COMPLETED,
+        COMPENSATION_STARTED,
+        STEP_COMPENSATING,
+        STEP_COMPENSATED,
+        SAGA_COMPENSATED,
+        SAGA_FAILED
+    }
+}
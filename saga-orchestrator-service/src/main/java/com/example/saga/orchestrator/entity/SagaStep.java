@@ -1,5 +1,6 @@
 package com.example.saga.orchestrator.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -48,6 +49,7 @@ public class SagaStep {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "saga_transaction_id", nullable = false)
     private SagaTransaction sagaTransaction;
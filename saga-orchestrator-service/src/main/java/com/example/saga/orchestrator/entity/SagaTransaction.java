@@ -29,12 +29,27 @@ public class SagaTransaction {
     @Column(name = "total_steps")
     private Integer totalSteps;
     
+    @Column(name = "event_seq", nullable = false)
+    private Integer eventSeq = 0;
+    
     @Column(name = "payload", columnDefinition = "JSON")
     private String payload;
     
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
     
+    // W3C traceparent of the saga's root span; its steps are traced as children of it
+    @Column(name = "trace_parent", length = 55)
+    private String traceParent;
+    
+    // CRC32(sagaId) % saga.partitions.count, indexed for the per-partition scans
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo = 0;
+    
+    // Manual retries so far; part of the idempotency key of every step call
+    @Column(name = "retry_round", nullable = false)
+    private Integer retryRound = 0;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -45,6 +60,7 @@ public class SagaTransaction {
     private LocalDateTime completedAt;
     
     @OneToMany(mappedBy = "sagaTransaction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("stepNumber ASC")
     private List<SagaStep> steps = new ArrayList<>();
 
     // Constructors
@@ -115,6 +131,14 @@ public class SagaTransaction {
         this.totalSteps = totalSteps;
     }
 
+    public Integer getEventSeq() {
+        return eventSeq;
+    }
+
+    public void setEventSeq(Integer eventSeq) {
+        this.eventSeq = eventSeq;
+    }
+
     public String getPayload() {
         return payload;
     }
@@ -133,6 +157,30 @@ public class SagaTransaction {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public String getTraceParent() {
+        return traceParent;
+    }
+
+    public void setTraceParent(String traceParent) {
+        this.traceParent = traceParent;
+    }
+
+    public Integer getPartitionNo() {
+        return partitionNo;
+    }
+
+    public void setPartitionNo(Integer partitionNo) {
+        this.partitionNo = partitionNo;
+    }
+
+    public Integer getRetryRound() {
+        return retryRound;
+    }
+
+    public void setRetryRound(Integer retryRound) {
+        this.retryRound = retryRound;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -184,6 +232,15 @@ public class SagaTransaction {
         this.completedAt = LocalDateTime.now();
     }
 
+    // Identifies one round of a step to its participant: the Kafka commandId and the
+    // Idempotency-Key of HTTP step calls. Stays the same across resumes and transient
+    // retries, so a participant that already handled the step answers with its first
+    // outcome; a manual retry starts a new round.
+    public String stepKey(int stepNumber) {
+        String key = sagaId + ":" + stepNumber;
+        return retryRound == 0 ? key : key + ":" + retryRound;
+    }
+
     public boolean isCompleted() {
         return status == SagaStatus.COMPLETED;
     }
@@ -0,0 +1,38 @@
+package com.example.saga.orchestrator.messaging;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.SagaCommand;
+import com.example.saga.orchestrator.service.SagaStepTransports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class SagaCommandPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaCommandPublisher.class);
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private SagaStepTransports stepTransports;
+
+    // Keyed by sagaId so all commands of a saga land on the same partition, in order.
+    // The request payload already carries the sagaId and is embedded without re-parsing.
+    public CompletableFuture<SendResult<String, Object>> send(SagaTransaction saga, SagaStep step) {
+        String sagaId = saga.getSagaId();
+        String commandId = saga.stepKey(step.getStepNumber());
+        SagaCommand command = new SagaCommand(commandId, sagaId, step.getStepName(), step.getRequestPayload());
+        String topic = stepTransports.commandTopicFor(step);
+
+        logger.info("Publishing command {} for step {} to {}", commandId, step.getStepName(), topic);
+        return kafkaTemplate.send(topic, sagaId, command);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.saga.orchestrator.messaging;
+
+import com.example.saga.orchestrator.model.SagaReply;
+import com.example.saga.orchestrator.service.SagaExecutionEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// Consumes the participants' outbox topics. Records are outbox rows unwrapped by
+// Debezium; only SagaStepReply rows are replies, the rest are domain events.
+//
+// Replies are keyed by the participant's aggregate, not the saga, so they cannot be
+// routed to the saga's owner. Every node therefore reads all replies in its own
+// consumer group and the engine drops those for sagas it does not own. The group is named
+// after the node id, which is stable across restarts, so a restarted node continues from
+// its committed offsets; a new node reads from the earliest retained reply, and the
+// engine ignores replies for steps that are no longer awaited.
+@Component
+public class SagaReplyListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaReplyListener.class);
+
+    static final String REPLY_EVENT_TYPE = "SagaStepReply";
+
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            id = "saga-reply-listener",
+            topics = "#{'${saga.kafka.reply-topics:order-events,inventory-events,payment-events,notification-events}'.split(',')}",
+            groupId = "#{'saga-orchestrator-replies-' + @sagaPartitionManager.nodeId}",
+            properties = {
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "auto.offset.reset=earliest"
+            })
+    public void onOutboxEvent(String message) {
+        try {
+            JsonNode row = objectMapper.readTree(message);
+            if (row == null || !REPLY_EVENT_TYPE.equals(row.path("event_type").asText())) {
+                return;
+            }
+
+            SagaReply reply = objectMapper.readValue(row.path("payload").asText(), SagaReply.class);
+            logger.info("Received reply {} for step {} of saga {}",
+                    reply.getCommandId(), reply.getStepName(), reply.getSagaId());
+            executionEngine.onStepReply(reply);
+
+        } catch (TaskRejectedException e) {
+            // The worker pool is full; the container's error handler redelivers after a back-off
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to handle outbox event: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.saga.orchestrator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchSagaResponse {
+
+    private int accepted;
+    private int rejected;
+    private List<Item> items = new ArrayList<>();
+
+    // Constructors
+    public BatchSagaResponse() {}
+
+    public BatchSagaResponse(List<Item> items) {
+        this.items = items;
+        this.accepted = (int) items.stream().filter(item -> item.getSagaId() != null).count();
+        this.rejected = items.size() - accepted;
+    }
+
+    // Getters and Setters
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+        private int index;
+        private String sagaId;
+        private String status;
+        private List<String> errors;
+
+        // Constructors
+        public Item() {}
+
+        public Item(int index, String sagaId, String status, List<String> errors) {
+            this.index = index;
+            this.sagaId = sagaId;
+            this.status = status;
+            this.errors = errors;
+        }
+
+        // Static factory methods
+        public static Item accepted(int index, String sagaId) {
+            return new Item(index, sagaId, "IN_PROGRESS", List.of());
+        }
+
+        public static Item rejected(int index, List<String> errors) {
+            return new Item(index, null, "REJECTED", errors);
+        }
+
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getSagaId() {
+            return sagaId;
+        }
+
+        public void setSagaId(String sagaId) {
+            this.sagaId = sagaId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public void setErrors(List<String> errors) {
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.saga.orchestrator.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+// Step command published to a participant's command topic. The participant answers
+// with a SagaReply written to its outbox, which Debezium routes to its events topic.
+public class SagaCommand {
+    
+    private String commandId;
+    private String sagaId;
+    private String stepName;
+    // The step's request JSON, embedded as-is
+    @JsonRawValue
+    private String payload;
+    
+    // Constructors
+    public SagaCommand() {}
+    
+    public SagaCommand(String commandId, String sagaId, String stepName, String payload) {
+        this.commandId = commandId;
+        this.sagaId = sagaId;
+        this.stepName = stepName;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public void setCommandId(String commandId) {
+        this.commandId = commandId;
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public void setSagaId(String sagaId) {
+        this.sagaId = sagaId;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public void setStepName(String stepName) {
+        this.stepName = stepName;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.saga.orchestrator.model;
+
+import java.util.List;
+
+public class SagaPage {
+    
+    private List<SagaSummary> items;
+    private String nextCursor;
+    
+    // Constructors
+    public SagaPage() {}
+    
+    public SagaPage(List<SagaSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<SagaSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SagaSummary> items) {
+        this.items = items;
+    }
+
+    // Null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
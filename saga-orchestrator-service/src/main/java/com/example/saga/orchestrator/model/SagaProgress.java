@@ -0,0 +1,146 @@
+package com.example.saga.orchestrator.model;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// One saga's state as pushed over progress streams: the saga and step statuses after
+// the event with sequence number seq, without payloads
+public class SagaProgress {
+
+    // The event name of the first message on a stream, taken from the current state
+    public static final String SNAPSHOT = "SNAPSHOT";
+
+    private String sagaId;
+    private String sagaType;
+    private int seq;
+    private String event;
+    private SagaTransaction.SagaStatus status;
+    private Integer currentStep;
+    private List<Step> steps = new ArrayList<>();
+
+    // Constructors
+    public SagaProgress() {}
+
+    public static SagaProgress of(SagaTransaction saga, String event) {
+        SagaProgress progress = new SagaProgress();
+        progress.sagaId = saga.getSagaId();
+        progress.sagaType = saga.getSagaType();
+        progress.seq = saga.getEventSeq() != null ? saga.getEventSeq() : 0;
+        progress.event = event;
+        progress.status = saga.getStatus();
+        progress.currentStep = saga.getCurrentStep();
+        progress.steps = saga.getSteps().stream()
+                .sorted(Comparator.comparing(SagaStep::getStepNumber))
+                .map(step -> new Step(step.getStepNumber(), step.getStepName(), step.getStatus()))
+                .toList();
+        return progress;
+    }
+
+    public boolean isFinished() {
+        return status == SagaTransaction.SagaStatus.COMPLETED
+                || status == SagaTransaction.SagaStatus.COMPENSATED
+                || status == SagaTransaction.SagaStatus.FAILED;
+    }
+
+    // Getters and Setters
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public void setSagaId(String sagaId) {
+        this.sagaId = sagaId;
+    }
+
+    public String getSagaType() {
+        return sagaType;
+    }
+
+    public void setSagaType(String sagaType) {
+        this.sagaType = sagaType;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public SagaTransaction.SagaStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SagaTransaction.SagaStatus status) {
+        this.status = status;
+    }
+
+    public Integer getCurrentStep() {
+        return currentStep;
+    }
+
+    public void setCurrentStep(Integer currentStep) {
+        this.currentStep = currentStep;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    public static class Step {
+
+        private Integer stepNumber;
+        private String stepName;
+        private SagaStep.StepStatus status;
+
+        // Constructors
+        public Step() {}
+
+        public Step(Integer stepNumber, String stepName, SagaStep.StepStatus status) {
+            this.stepNumber = stepNumber;
+            this.stepName = stepName;
+            this.status = status;
+        }
+
+        // Getters and Setters
+        public Integer getStepNumber() {
+            return stepNumber;
+        }
+
+        public void setStepNumber(Integer stepNumber) {
+            this.stepNumber = stepNumber;
+        }
+
+        public String getStepName() {
+            return stepName;
+        }
+
+        public void setStepName(String stepName) {
+            this.stepName = stepName;
+        }
+
+        public SagaStep.StepStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(SagaStep.StepStatus status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.saga.orchestrator.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class SagaReply {
+    
+    private String commandId;
+    private String sagaId;
+    private String stepName;
+    private boolean success;
+    private JsonNode response;
+    private String errorMessage;
+    
+    // Constructors
+    public SagaReply() {}
+
+    // Getters and Setters
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public void setCommandId(String commandId) {
+        this.commandId = commandId;
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public void setSagaId(String sagaId) {
+        this.sagaId = sagaId;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public void setStepName(String stepName) {
+        this.stepName = stepName;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public JsonNode getResponse() {
+        return response;
+    }
+
+    public void setResponse(JsonNode response) {
+        this.response = response;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.saga.orchestrator.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Wire formats of the order saga's participant calls. Step requests are serialized once
+// when the saga is created and sent verbatim on every attempt; responses are stored as
+// returned and only read back for the fields compensation needs.
+public final class SagaStepPayloads {
+
+    private SagaStepPayloads() {
+    }
+
+    // Step requests
+    public record CreateOrderRequest(String sagaId, String customerId, List<OrderRequest.OrderItem> items,
+                                     BigDecimal totalAmount, String shippingAddress) {
+    }
+
+    public record ReserveInventoryRequest(String sagaId, List<OrderRequest.OrderItem> items) {
+    }
+
+    public record ProcessPaymentRequest(String sagaId, String customerId, BigDecimal amount, String paymentMethod) {
+    }
+
+    public record NotificationRequest(String sagaId, String customerId, String type) {
+    }
+
+    // Step responses
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record OrderCreated(String orderId) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PaymentProcessed(String paymentId) {
+    }
+
+    // Compensation requests
+    public record CancelOrderRequest(String sagaId, String orderId, String reason) {
+    }
+
+    public record ReleaseInventoryRequest(String sagaId) {
+    }
+
+    public record RefundPaymentRequest(String sagaId, String paymentId, String reason) {
+    }
+}
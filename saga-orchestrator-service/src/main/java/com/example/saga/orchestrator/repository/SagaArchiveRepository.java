@@ -0,0 +1,49 @@
+package com.example.saga.orchestrator.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves terminal sagas into the *_archive tables. Every table is copied and deleted
+// with one set-based statement per batch; callers must run archive() in a transaction.
+@Repository
+public class SagaArchiveRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Oldest first through idx_status_updated; rows are locked so a late snapshot write
+    // cannot interleave with the move
+    public List<Long> findArchivable(String status, LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM saga_transactions WHERE status = :status AND updated_at < :cutoff " +
+                "ORDER BY updated_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource()
+                        .addValue("status", status)
+                        .addValue("cutoff", cutoff)
+                        .addValue("limit", limit),
+                Long.class);
+    }
+
+    public int archive(List<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+
+        jdbcTemplate.update(
+                "INSERT INTO saga_transactions_archive SELECT * FROM saga_transactions WHERE id IN (:ids)", params);
+        jdbcTemplate.update(
+                "INSERT INTO saga_steps_archive SELECT * FROM saga_steps WHERE saga_transaction_id IN (:ids)", params);
+        jdbcTemplate.update(
+                "INSERT INTO saga_events_archive SELECT e.* FROM saga_events e " +
+                "JOIN saga_transactions s ON s.saga_id = e.saga_id WHERE s.id IN (:ids)", params);
+
+        jdbcTemplate.update(
+                "DELETE e FROM saga_events e " +
+                "JOIN saga_transactions s ON s.saga_id = e.saga_id WHERE s.id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM saga_steps WHERE saga_transaction_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM saga_transactions WHERE id IN (:ids)", params);
+    }
+}
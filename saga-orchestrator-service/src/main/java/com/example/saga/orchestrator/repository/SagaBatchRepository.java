@@ -0,0 +1,101 @@
+package com.example.saga.orchestrator.repository;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Bulk inserts for new sagas. JPA cannot batch inserts of IDENTITY entities, so new
+// sagas and their steps are written with one JDBC batch per table instead.
+@Repository
+public class SagaBatchRepository {
+
+    private static final String INSERT_SAGA =
+            "INSERT INTO saga_transactions (saga_id, saga_type, status, current_step, total_steps, " +
+            "payload, trace_parent, partition_no, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STEP =
+            "INSERT INTO saga_steps (saga_transaction_id, step_number, step_name, service_name, status, " +
+            "request_payload, retry_count, max_retries) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Inserts the sagas and all their steps, assigning the generated saga ids back onto
+    // the entities. Must run inside the caller's transaction.
+    public void insertAll(List<SagaTransaction> sagas) {
+        if (sagas.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SAGA, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SagaTransaction saga = sagas.get(i);
+                        ps.setString(1, saga.getSagaId());
+                        ps.setString(2, saga.getSagaType());
+                        ps.setString(3, saga.getStatus().name());
+                        ps.setInt(4, saga.getCurrentStep());
+                        ps.setInt(5, saga.getTotalSteps());
+                        ps.setString(6, saga.getPayload());
+                        ps.setString(7, saga.getTraceParent());
+                        ps.setInt(8, saga.getPartitionNo());
+                        ps.setTimestamp(9, Timestamp.valueOf(saga.getCreatedAt()));
+                        ps.setTimestamp(10, Timestamp.valueOf(saga.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return sagas.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != sagas.size()) {
+            throw new IllegalStateException("Expected " + sagas.size() + " generated saga ids but got " + keys.size());
+        }
+
+        List<SagaStep> steps = new ArrayList<>();
+        for (int i = 0; i < sagas.size(); i++) {
+            SagaTransaction saga = sagas.get(i);
+            saga.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            steps.addAll(saga.getSteps());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STEP, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SagaStep step = steps.get(i);
+                ps.setLong(1, step.getSagaTransaction().getId());
+                ps.setInt(2, step.getStepNumber());
+                ps.setString(3, step.getStepName());
+                ps.setString(4, step.getServiceName());
+                ps.setString(5, step.getStatus().name());
+                ps.setString(6, step.getRequestPayload());
+                ps.setInt(7, step.getRetryCount());
+                ps.setInt(8, step.getMaxRetries());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return steps.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.saga.orchestrator.repository;
+
+import com.example.saga.orchestrator.entity.SagaEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SagaEventRepository extends JpaRepository<SagaEvent, Long> {
+
+    // Events not yet folded into the saga's snapshot row
+    List<SagaEvent> findBySagaIdAndSeqGreaterThanOrderBySeqAsc(String sagaId, Integer seq);
+
+    List<SagaEvent> findBySagaIdOrderBySeqAsc(String sagaId);
+}
@@ -0,0 +1,69 @@
+package com.example.saga.orchestrator.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Idempotency-Key -> saga started under it. Ages use the database clock, like leases
+// and retries, so every node agrees on when a key's window has passed.
+@Repository
+public class SagaIdempotencyRepository {
+
+    public record KeyClaim(String sagaId, String requestHash, long ageMillis) {
+    }
+
+    private static final RowMapper<KeyClaim> CLAIM_MAPPER = (rs, rowNum) ->
+            new KeyClaim(rs.getString("saga_id"), rs.getString("request_hash"), rs.getLong("age_ms"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<KeyClaim> find(String idempotencyKey, long windowSeconds) {
+        return jdbcTemplate.query(
+                "SELECT saga_id, request_hash, TIMESTAMPDIFF(MICROSECOND, created_at, NOW(3)) DIV 1000 AS age_ms " +
+                "FROM saga_idempotency_keys WHERE idempotency_key = :key AND created_at > NOW(3) - INTERVAL :window SECOND",
+                new MapSqlParameterSource()
+                        .addValue("key", idempotencyKey)
+                        .addValue("window", windowSeconds),
+                CLAIM_MAPPER)
+                .stream().findFirst();
+    }
+
+    // Claims the key for sagaId unless a live claim exists, and returns whichever claim
+    // holds it afterwards. A concurrent claimer blocks on the row until this transaction
+    // ends, then sees the committed winner. Must run in a transaction.
+    public KeyClaim claim(String idempotencyKey, String sagaId, String requestHash, long windowSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", idempotencyKey)
+                .addValue("sagaId", sagaId)
+                .addValue("requestHash", requestHash)
+                .addValue("window", windowSeconds);
+        // Assignments apply left to right, so created_at is tested before it is replaced
+        jdbcTemplate.update(
+                "INSERT INTO saga_idempotency_keys (idempotency_key, saga_id, request_hash, created_at) " +
+                "VALUES (:key, :sagaId, :requestHash, NOW(3)) " +
+                "ON DUPLICATE KEY UPDATE " +
+                "saga_id = IF(created_at <= NOW(3) - INTERVAL :window SECOND, VALUES(saga_id), saga_id), " +
+                "request_hash = IF(created_at <= NOW(3) - INTERVAL :window SECOND, VALUES(request_hash), request_hash), " +
+                "created_at = IF(created_at <= NOW(3) - INTERVAL :window SECOND, VALUES(created_at), created_at)",
+                params);
+        return jdbcTemplate.queryForObject(
+                "SELECT saga_id, request_hash, TIMESTAMPDIFF(MICROSECOND, created_at, NOW(3)) DIV 1000 AS age_ms " +
+                "FROM saga_idempotency_keys WHERE idempotency_key = :key",
+                params,
+                CLAIM_MAPPER);
+    }
+
+    public int deleteExpired(long windowSeconds, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM saga_idempotency_keys WHERE created_at <= NOW(3) - INTERVAL :window SECOND " +
+                "ORDER BY created_at LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("window", windowSeconds)
+                        .addValue("limit", limit));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.saga.orchestrator.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// Node heartbeats and partition leases. All times come from the database clock, so
+// lease decisions never depend on clock skew between orchestrator instances.
+@Repository
+public class SagaLeaseRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void createPartitions(int partitionCount) {
+        List<Object[]> rows = IntStream.range(0, partitionCount)
+                .mapToObj(partition -> new Object[]{partition})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO saga_partition_leases (partition_id) VALUES (?)", rows);
+    }
+
+    // Moves unfinished sagas and parked retries whose stored partition_no was computed for
+    // a different partition count; finished sagas are never scanned by partition again
+    public int repartition(int partitionCount, Collection<String> unfinishedStatuses) {
+        String statuses = String.join(",", Collections.nCopies(unfinishedStatuses.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(partitionCount);
+        args.addAll(unfinishedStatuses);
+        args.add(partitionCount);
+        int moved = jdbcTemplate.update(
+                "UPDATE saga_transactions SET partition_no = MOD(CRC32(saga_id), ?) " +
+                "WHERE status IN (" + statuses + ") AND partition_no <> MOD(CRC32(saga_id), ?)", args.toArray());
+        jdbcTemplate.update(
+                "UPDATE saga_step_retries SET partition_no = MOD(CRC32(saga_id), ?) " +
+                "WHERE partition_no <> MOD(CRC32(saga_id), ?)", partitionCount, partitionCount);
+        return moved;
+    }
+
+    public void heartbeat(String nodeId) {
+        jdbcTemplate.update(
+                "INSERT INTO saga_orchestrator_nodes (node_id, heartbeat_at) VALUES (?, NOW(3)) " +
+                "ON DUPLICATE KEY UPDATE heartbeat_at = NOW(3)", nodeId);
+    }
+
+    public List<String> findLiveNodes(long leaseSeconds) {
+        return jdbcTemplate.queryForList(
+                "SELECT node_id FROM saga_orchestrator_nodes " +
+                "WHERE heartbeat_at > NOW(3) - INTERVAL ? SECOND ORDER BY node_id",
+                String.class, leaseSeconds);
+    }
+
+    public void removeNode(String nodeId) {
+        jdbcTemplate.update("DELETE FROM saga_orchestrator_nodes WHERE node_id = ?", nodeId);
+    }
+
+    // Nodes that stopped without deregistering; their leases have long expired
+    public int removeDeadNodes(long deadAfterSeconds) {
+        return jdbcTemplate.update(
+                "DELETE FROM saga_orchestrator_nodes WHERE heartbeat_at < NOW(3) - INTERVAL ? SECOND",
+                deadAfterSeconds);
+    }
+
+    public void renew(String nodeId, long leaseSeconds) {
+        jdbcTemplate.update(
+                "UPDATE saga_partition_leases SET lease_expires_at = NOW(3) + INTERVAL ? SECOND " +
+                "WHERE owner_node = ?", leaseSeconds, nodeId);
+    }
+
+    // Takes each partition that is free, expired or already ours
+    public void acquire(String nodeId, Collection<Integer> partitions, long leaseSeconds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Integer partition : partitions) {
+            rows.add(new Object[]{nodeId, leaseSeconds, partition, nodeId});
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE saga_partition_leases SET owner_node = ?, lease_expires_at = NOW(3) + INTERVAL ? SECOND " +
+                "WHERE partition_id = ? AND (owner_node IS NULL OR owner_node = ? OR lease_expires_at < NOW(3))",
+                rows);
+    }
+
+    public void release(String nodeId, Collection<Integer> partitions) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Integer partition : partitions) {
+            rows.add(new Object[]{partition, nodeId});
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE saga_partition_leases SET owner_node = NULL, lease_expires_at = NULL " +
+                "WHERE partition_id = ? AND owner_node = ?", rows);
+    }
+
+    public void releaseAll(String nodeId) {
+        jdbcTemplate.update(
+                "UPDATE saga_partition_leases SET owner_node = NULL, lease_expires_at = NULL " +
+                "WHERE owner_node = ?", nodeId);
+    }
+
+    public Set<Integer> findOwnedPartitions(String nodeId, int partitionCount) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT partition_id FROM saga_partition_leases " +
+                "WHERE owner_node = ? AND lease_expires_at > NOW(3) AND partition_id < ?",
+                Integer.class, nodeId, partitionCount));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.saga.orchestrator.repository;
+
+import com.example.saga.orchestrator.model.SagaSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Read-side queries over the saga snapshot rows, newest first by (created_at, id).
+// Listing pages with a keyset cursor; export streams through a server-side cursor
+// (useCursorFetch) so memory stays flat whatever the table size.
+@Repository
+public class SagaQueryRepository {
+
+    // Position after the last row of a page, opaque to clients
+    public record Cursor(LocalDateTime createdAt, long id) {
+
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    private static final String SELECT_SUMMARY =
+            "SELECT id, saga_id, saga_type, status, current_step, total_steps, error_message, " +
+            "created_at, updated_at, completed_at FROM saga_transactions WHERE 1 = 1";
+
+    private static final RowMapper<SagaSummary> SUMMARY_MAPPER = (rs, rowNum) -> {
+        SagaSummary summary = new SagaSummary();
+        summary.setId(rs.getLong("id"));
+        summary.setSagaId(rs.getString("saga_id"));
+        summary.setSagaType(rs.getString("saga_type"));
+        summary.setStatus(rs.getString("status"));
+        summary.setCurrentStep(rs.getInt("current_step"));
+        summary.setTotalSteps(rs.getInt("total_steps"));
+        summary.setErrorMessage(rs.getString("error_message"));
+        summary.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        summary.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        summary.setCompletedAt(toLocalDateTime(rs.getTimestamp("completed_at")));
+        return summary;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public SagaQueryRepository(DataSource dataSource,
+                               @Value("${saga.export.fetch-size:500}") int exportFetchSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(exportFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public List<SagaSummary> findPage(String status, String sagaType, Cursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY);
+        appendFilters(sql, params, status, sagaType);
+        if (after != null) {
+            sql.append(" AND (created_at < :afterCreatedAt OR (created_at = :afterCreatedAt AND id < :afterId))");
+            params.addValue("afterCreatedAt", after.createdAt()).addValue("afterId", after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, SUMMARY_MAPPER);
+    }
+
+    public void streamAll(String status, String sagaType, Consumer<SagaSummary> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY);
+        appendFilters(sql, params, status, sagaType);
+        sql.append(" ORDER BY created_at DESC, id DESC");
+        RowCallbackHandler handler = rs -> consumer.accept(SUMMARY_MAPPER.mapRow(rs, rs.getRow()));
+        streamingJdbcTemplate.query(sql.toString(), params, handler);
+    }
+
+    private void appendFilters(StringBuilder sql, MapSqlParameterSource params, String status, String sagaType) {
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", status);
+        }
+        if (sagaType != null) {
+            sql.append(" AND saga_type = :sagaType");
+            params.addValue("sagaType", sagaType);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.saga.orchestrator.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Due times for parked saga steps. Due times use the database clock, like the
+// partition leases, so every node agrees on when a retry is due.
+@Repository
+public class SagaRetryRepository {
+
+    public record DueRetry(long id, String sagaId, int stepNumber, int attempt) {
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void schedule(String sagaId, int stepNumber, int attempt, long delayMillis) {
+        jdbcTemplate.update(
+                "INSERT INTO saga_step_retries (saga_id, step_number, attempt, due_at, partition_no) " +
+                "SELECT :sagaId, :stepNumber, :attempt, NOW(3) + INTERVAL :delayMicros MICROSECOND, partition_no " +
+                "FROM saga_transactions WHERE saga_id = :sagaId " +
+                "ON DUPLICATE KEY UPDATE attempt = VALUES(attempt), due_at = VALUES(due_at)",
+                new MapSqlParameterSource()
+                        .addValue("sagaId", sagaId)
+                        .addValue("stepNumber", stepNumber)
+                        .addValue("attempt", attempt)
+                        .addValue("delayMicros", delayMillis * 1000));
+    }
+
+    // Range scans on idx_partition_due, one per partition this node owns
+    public List<DueRetry> findDue(Collection<Integer> partitions, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, saga_id, step_number, attempt FROM saga_step_retries " +
+                "WHERE partition_no IN (:partitions) AND due_at <= NOW(3) " +
+                "ORDER BY due_at LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("partitions", partitions)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new DueRetry(rs.getLong("id"), rs.getString("saga_id"), rs.getInt("step_number"),
+                        rs.getInt("attempt")));
+    }
+
+    // Deleting the row is the claim: only the caller that deletes it runs the retry
+    public boolean claim(long id) {
+        return jdbcTemplate.update("DELETE FROM saga_step_retries WHERE id = :id",
+                new MapSqlParameterSource("id", id)) == 1;
+    }
+
+    public List<Integer> findStepNumbers(String sagaId) {
+        return jdbcTemplate.queryForList(
+                "SELECT step_number FROM saga_step_retries WHERE saga_id = :sagaId",
+                new MapSqlParameterSource("sagaId", sagaId), Integer.class);
+    }
+
+    public void deleteBySagaId(String sagaId) {
+        jdbcTemplate.update("DELETE FROM saga_step_retries WHERE saga_id = :sagaId",
+                new MapSqlParameterSource("sagaId", sagaId));
+    }
+}
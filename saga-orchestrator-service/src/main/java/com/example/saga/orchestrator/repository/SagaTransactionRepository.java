@@ -1,11 +1,15 @@
 package com.example.saga.orchestrator.repository;
 
 import com.example.saga.orchestrator.entity.SagaTransaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,12 +18,48 @@ public interface SagaTransactionRepository extends JpaRepository<SagaTransaction
     
     Optional<SagaTransaction> findBySagaId(String sagaId);
     
+    @EntityGraph(attributePaths = "steps")
+    @Query("SELECT s FROM SagaTransaction s WHERE s.sagaId = :sagaId")
+    Optional<SagaTransaction> findWithStepsBySagaId(String sagaId);
+    
+    // Serializes snapshot writers for the same saga
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "steps")
+    @Query("SELECT s FROM SagaTransaction s WHERE s.sagaId = :sagaId")
+    Optional<SagaTransaction> findForUpdateBySagaId(String sagaId);
+    
+    interface SagaRef {
+        Long getId();
+        String getSagaId();
+        String getStatus();
+    }
+    
+    // Sagas in the given partitions, paged by id over idx_partition_status
+    @Query(value = "SELECT id AS id, saga_id AS sagaId, status AS status FROM saga_transactions " +
+            "WHERE partition_no IN (:partitions) AND status IN (:statuses) " +
+            "AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<SagaRef> findSagasInPartitions(Collection<String> statuses, Collection<Integer> partitions,
+                                        long afterId, int limit);
+    
     List<SagaTransaction> findByStatus(SagaTransaction.SagaStatus status);
     
     List<SagaTransaction> findBySagaType(String sagaType);
     
-    @Query("SELECT s FROM SagaTransaction s WHERE s.status = :status AND s.updatedAt < :timeout")
-    List<SagaTransaction> findTimedOutSagas(SagaTransaction.SagaStatus status, LocalDateTime timeout);
+    interface TimedOutSaga {
+        Long getId();
+        String getSagaId();
+        LocalDateTime getUpdatedAt();
+    }
+    
+    // Keyset page over idx_status_updated (status, updated_at, id) in the given partitions
+    @Query(value = "SELECT id AS id, saga_id AS sagaId, updated_at AS updatedAt FROM saga_transactions " +
+            "WHERE status = :status AND updated_at < :timeout " +
+            "AND (updated_at > :afterUpdatedAt OR (updated_at = :afterUpdatedAt AND id > :afterId)) " +
+            "AND partition_no IN (:partitions) " +
+            "ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<TimedOutSaga> findTimedOutSagas(String status, LocalDateTime timeout,
+                                         LocalDateTime afterUpdatedAt, long afterId,
+                                         Collection<Integer> partitions, int limit);
     
     @Query("SELECT s FROM SagaTransaction s WHERE s.createdAt BETWEEN :startDate AND :endDate")
     List<SagaTransaction> findSagasByDateRange(LocalDateTime startDate, LocalDateTime endDate);
@@ -1,18 +1,29 @@
 package com.example.saga.orchestrator.service;
 
-import com.example.saga.orchestrator.client.*;
+import com.example.saga.orchestrator.definition.SagaDefinition;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.definition.order.OrderSagaDefinition;
+import com.example.saga.orchestrator.entity.SagaEvent;
 import com.example.saga.orchestrator.entity.SagaStep;
 import com.example.saga.orchestrator.entity.SagaTransaction;
 import com.example.saga.orchestrator.model.OrderRequest;
-import com.example.saga.orchestrator.repository.SagaTransactionRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.saga.orchestrator.model.SagaPage;
+import com.example.saga.orchestrator.model.SagaSummary;
+import com.example.saga.orchestrator.repository.SagaBatchRepository;
+import com.example.saga.orchestrator.repository.SagaQueryRepository;
+import com.example.saga.orchestrator.repository.SagaQueryRepository.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -20,265 +31,251 @@ public class OrderSagaOrchestrator {
     
     private static final Logger logger = LoggerFactory.getLogger(OrderSagaOrchestrator.class);
     
+    // replayed is true when an earlier request with the same Idempotency-Key started the saga
+    public record StartedSaga(String sagaId, boolean replayed) {
+    }
+    
+    @Autowired
+    private SagaBatchRepository batchRepository;
+    
+    @Autowired
+    private SagaQueryRepository queryRepository;
+    
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+    
+    @Autowired
+    private SagaStateStore stateStore;
+    
     @Autowired
-    private SagaTransactionRepository sagaRepository;
+    private SagaStatusCache statusCache;
     
     @Autowired
-    private OrderServiceClient orderServiceClient;
+    private SagaStepCodec stepCodec;
     
     @Autowired
-    private InventoryServiceClient inventoryServiceClient;
+    private SagaDefinitions definitions;
     
     @Autowired
-    private PaymentServiceClient paymentServiceClient;
+    private SagaIdempotencyKeys idempotencyKeys;
     
     @Autowired
-    private NotificationServiceClient notificationServiceClient;
+    private SagaIntake intake;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private SagaTracing tracing;
+    
+    @Autowired
+    private SagaPartitionManager partitionManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public StartedSaga startOrderSaga(OrderRequest orderRequest, String idempotencyKey, SagaIntake.Priority priority) {
+        return startSaga(OrderSagaDefinition.SAGA_TYPE, orderRequest, idempotencyKey, priority);
+    }
+
+    public List<String> startOrderSagas(List<OrderRequest> orderRequests, SagaIntake.Priority priority) {
+        return startSagas(OrderSagaDefinition.SAGA_TYPE, orderRequests, priority);
+    }
 
-    public String startOrderSaga(OrderRequest orderRequest) {
+    // Starts a saga of any registered type; request must be of the definition's request type.
+    // With an idempotencyKey, a repeat of an earlier request within the window returns the
+    // saga that request started. Replays never open a transaction; the insert runs in its own.
+    //
+    // New sagas need room in the intake queue (SagaIntakeRejectedException otherwise) and
+    // reach the engine through it; replays take no room.
+    //
+    // The saga's root span is opened only once its key is claimed, so replays never
+    // leave behind a span for a saga that was not started.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StartedSaga startSaga(String sagaType, Object request, String idempotencyKey, SagaIntake.Priority priority) {
+        SagaDefinition<?> definition = definitions.get(sagaType);
+        String payload = stepCodec.write(definition.getRequestType().cast(request));
+        
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            requestHash = SagaIdempotencyKeys.hash(sagaType, payload);
+            Optional<String> existing = idempotencyKeys.findStarted(idempotencyKey, requestHash);
+            if (existing.isPresent()) {
+                logger.info("Idempotency-Key {} replayed, returning saga {}", idempotencyKey, existing.get());
+                return new StartedSaga(existing.get(), true);
+            }
+        }
+        
+        SagaTransaction saga = newSaga(definition, request, payload);
+        String sagaId = saga.getSagaId();
+        intake.admit(priority, 1);
+        String claimHash = requestHash;
+        StartedSaga started;
         try {
-            String sagaId = UUID.randomUUID().toString();
-            String payload = objectMapper.writeValueAsString(orderRequest);
-            
-            SagaTransaction saga = new SagaTransaction(sagaId, "ORDER_SAGA", payload);
-            saga.setTotalSteps(4); // Order -> Inventory -> Payment -> Notification
-            
-            // Initialize saga steps
-            initializeSagaSteps(saga, orderRequest);
-            
-            saga = sagaRepository.save(saga);
-            
-            logger.info("Started Order Saga with ID: {}", sagaId);
-            
-            // Start executing the saga
-            executeNextStep(saga);
-            
-            return sagaId;
-            
+            started = transactionTemplate.execute(tx -> {
+                if (idempotencyKey != null) {
+                    Optional<String> existing = idempotencyKeys.claim(idempotencyKey, sagaId, claimHash);
+                    if (existing.isPresent()) {
+                        return new StartedSaga(existing.get(), true);
+                    }
+                }
+                saga.setTraceParent(tracing.startSaga(sagaType, sagaId));
+                
+                // Two batched statements (saga + steps) instead of one insert per entity
+                batchRepository.insertAll(List.of(saga));
+                
+                logger.info("Started {} with ID: {}", sagaType, sagaId);
+                return new StartedSaga(sagaId, false);
+            });
+            
+        } catch (IdempotencyKeyConflictException e) {
+            intake.release(1);
+            throw e;
         } catch (Exception e) {
-            logger.error("Failed to start Order Saga", e);
+            intake.release(1);
+            logger.error("Failed to start {}", sagaType, e);
             throw new RuntimeException("Failed to start saga", e);
         }
+        
+        // Execution happens on the saga engine; the caller only waits for the insert
+        if (started.replayed()) {
+            intake.release(1);
+        } else {
+            intake.enqueue(priority, List.of(sagaId));
+        }
+        return started;
     }
 
-    private void initializeSagaSteps(SagaTransaction saga, OrderRequest orderRequest) {
+    // Starts many sagas with one batched insert per table; ids are returned in request order.
+    // The whole batch is admitted to the intake queue or rejected together.
+    public List<String> startSagas(String sagaType, List<?> requests, SagaIntake.Priority priority) {
+        SagaDefinition<?> definition = definitions.get(sagaType);
+        intake.admit(priority, requests.size());
         try {
-            // Step 1: Create Order
-            Map<String, Object> orderData = new HashMap<>();
-            orderData.put("customerId", orderRequest.getCustomerId());
-            orderData.put("items", orderRequest.getItems());
-            orderData.put("totalAmount", orderRequest.getTotalAmount());
-            orderData.put("shippingAddress", orderRequest.getShippingAddress());
-            
-            SagaStep orderStep = new SagaStep(1, "CREATE_ORDER", "order-service",
-                    objectMapper.writeValueAsString(orderData), saga);
-            saga.getSteps().add(orderStep);
-            
-            // Step 2: Reserve Inventory
-            Map<String, Object> inventoryData = new HashMap<>();
-            inventoryData.put("items", orderRequest.getItems());
-            
-            SagaStep inventoryStep = new SagaStep(2, "RESERVE_INVENTORY", "inventory-service",
-                    objectMapper.writeValueAsString(inventoryData), saga);
-            saga.getSteps().add(inventoryStep);
+            List<SagaTransaction> sagas = new ArrayList<>(requests.size());
+            for (Object request : requests) {
+                SagaTransaction saga = newSaga(definition, request, stepCodec.write(definition.getRequestType().cast(request)));
+                saga.setTraceParent(tracing.startSaga(sagaType, saga.getSagaId()));
+                sagas.add(saga);
+            }
             
-            // Step 3: Process Payment
-            Map<String, Object> paymentData = new HashMap<>();
-            paymentData.put("customerId", orderRequest.getCustomerId());
-            paymentData.put("amount", orderRequest.getTotalAmount());
-            paymentData.put("paymentMethod", orderRequest.getPaymentMethod());
+            batchRepository.insertAll(sagas);
             
-            SagaStep paymentStep = new SagaStep(3, "PROCESS_PAYMENT", "payment-service",
-                    objectMapper.writeValueAsString(paymentData), saga);
-            saga.getSteps().add(paymentStep);
+            List<String> sagaIds = sagas.stream().map(SagaTransaction::getSagaId).toList();
+            logger.info("Started {} {} sagas in batch", sagaIds.size(), sagaType);
             
-            // Step 4: Send Notification
-            Map<String, Object> notificationData = new HashMap<>();
-            notificationData.put("customerId", orderRequest.getCustomerId());
-            notificationData.put("type", "ORDER_CONFIRMATION");
+            afterCompletion(committed -> {
+                if (committed) {
+                    intake.enqueue(priority, sagaIds);
+                } else {
+                    intake.release(sagaIds.size());
+                }
+            });
             
-            SagaStep notificationStep = new SagaStep(4, "SEND_NOTIFICATION", "notification-service",
-                    objectMapper.writeValueAsString(notificationData), saga);
-            saga.getSteps().add(notificationStep);
+            return sagaIds;
             
         } catch (Exception e) {
-            logger.error("Failed to initialize saga steps", e);
-            throw new RuntimeException("Failed to initialize saga steps", e);
+            intake.release(requests.size());
+            logger.error("Failed to start {} batch", sagaType, e);
+            throw new RuntimeException("Failed to start saga batch", e);
         }
     }
 
-    public void executeNextStep(SagaTransaction saga) {
-        try {
-            if (saga.isCompleted() || saga.isFailed()) {
-                return;
-            }
-
-            int currentStep = saga.getCurrentStep();
-            if (currentStep >= saga.getTotalSteps()) {
-                // All steps completed successfully
-                saga.complete();
-                sagaRepository.save(saga);
-                logger.info("Saga {} completed successfully", saga.getSagaId());
-                return;
-            }
+    // The request type a saga type starts from, for binding API request bodies
+    public Class<?> getRequestType(String sagaType) {
+        return definitions.get(sagaType).getRequestType();
+    }
 
-            SagaStep step = saga.getSteps().get(currentStep);
-            executeStep(saga, step);
-            
-        } catch (Exception e) {
-            logger.error("Failed to execute next step for saga {}", saga.getSagaId(), e);
-            handleSagaFailure(saga, e.getMessage());
+    // One step row per handler, numbered in definition order, each with its request
+    // serialized once up front; payload is the saga request already serialized
+    private <T> SagaTransaction newSaga(SagaDefinition<T> definition, Object request, String payload) {
+        T sagaRequest = definition.getRequestType().cast(request);
+        String sagaId = UUID.randomUUID().toString();
+        
+        SagaTransaction saga = new SagaTransaction(sagaId, definition.getSagaType(), payload);
+        saga.setPartitionNo(partitionManager.partitionOf(sagaId));
+        List<? extends StepHandler<T>> handlers = definition.getSteps();
+        saga.setTotalSteps(handlers.size());
+        
+        int stepNumber = 1;
+        for (StepHandler<T> handler : handlers) {
+            saga.getSteps().add(new SagaStep(stepNumber++, handler.getStepName(), handler.getParticipant(),
+                    stepCodec.write(handler.buildRequest(sagaId, sagaRequest)), saga));
         }
+        return saga;
     }
 
-    private void executeStep(SagaTransaction saga, SagaStep step) {
-        try {
-            step.execute();
-            sagaRepository.save(saga);
-            
-            logger.info("Executing step {} for saga {}", step.getStepName(), saga.getSagaId());
-            
-            Map<String, Object> request = objectMapper.readValue(step.getRequestPayload(), Map.class);
-            Map<String, Object> response;
-            
-            switch (step.getStepName()) {
-                case "CREATE_ORDER":
-                    response = orderServiceClient.createOrder(request);
-                    break;
-                case "RESERVE_INVENTORY":
-                    response = inventoryServiceClient.reserveInventory(request);
-                    break;
-                case "PROCESS_PAYMENT":
-                    response = paymentServiceClient.processPayment(request);
-                    break;
-                case "SEND_NOTIFICATION":
-                    response = notificationServiceClient.sendOrderConfirmation(request);
-                    break;
-                default:
-                    throw new RuntimeException("Unknown step: " + step.getStepName());
-            }
-            
-            // Handle successful response
-            String responsePayload = objectMapper.writeValueAsString(response);
-            step.complete(responsePayload);
-            saga.nextStep();
-            
-            sagaRepository.save(saga);
-            
-            logger.info("Step {} completed for saga {}", step.getStepName(), saga.getSagaId());
-            
-            // Continue to next step
-            executeNextStep(saga);
-            
-        } catch (Exception e) {
-            logger.error("Step {} failed for saga {}", step.getStepName(), saga.getSagaId(), e);
-            step.fail(e.getMessage());
-            sagaRepository.save(saga);
-            
-            // Start compensation
-            compensateSaga(saga);
-        }
+    public void compensateSaga(String sagaId) {
+        SagaTransaction saga = stateStore.load(sagaId);
+        logger.info("Compensation requested for saga {} in status {}", sagaId, saga.getStatus());
+        stateStore.requestCompensation(saga);
+        submitAfterCommit(() -> executionEngine.submitCompensation(sagaId));
     }
 
-    public void compensateSaga(SagaTransaction saga) {
-        try {
-            logger.info("Starting compensation for saga {}", saga.getSagaId());
-            saga.setStatus(SagaTransaction.SagaStatus.COMPENSATING);
-            sagaRepository.save(saga);
-            
-            // Compensate completed steps in reverse order
-            List<SagaStep> completedSteps = saga.getSteps().stream()
-                    .filter(SagaStep::needsCompensation)
-                    .sorted((s1, s2) -> s2.getStepNumber().compareTo(s1.getStepNumber()))
-                    .toList();
-            
-            for (SagaStep step : completedSteps) {
-                compensateStep(saga, step);
+    // Runs with true once the surrounding transaction commits, false if it rolls back
+    private void afterCompletion(Consumer<Boolean> callback) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
             }
-            
-            saga.setStatus(SagaTransaction.SagaStatus.COMPENSATED);
-            sagaRepository.save(saga);
-            
-            logger.info("Compensation completed for saga {}", saga.getSagaId());
-            
-        } catch (Exception e) {
-            logger.error("Failed to compensate saga {}", saga.getSagaId(), e);
-            handleSagaFailure(saga, "Compensation failed: " + e.getMessage());
-        }
+        });
     }
 
-    private void compensateStep(SagaTransaction saga, SagaStep step) {
-        try {
-            logger.info("Compensating step {} for saga {}", step.getStepName(), saga.getSagaId());
-            
-            Map<String, Object> compensationData = new HashMap<>();
-            if (step.getResponsePayload() != null) {
-                Map<String, Object> response = objectMapper.readValue(step.getResponsePayload(), Map.class);
-                compensationData.putAll(response);
-            }
-            
-            step.compensate(objectMapper.writeValueAsString(compensationData));
-            
-            switch (step.getStepName()) {
-                case "CREATE_ORDER":
-                    String orderId = (String) compensationData.get("orderId");
-                    if (orderId != null) {
-                        orderServiceClient.cancelOrder(orderId, compensationData);
-                    }
-                    break;
-                case "RESERVE_INVENTORY":
-                    inventoryServiceClient.releaseInventory(compensationData);
-                    break;
-                case "PROCESS_PAYMENT":
-                    String paymentId = (String) compensationData.get("paymentId");
-                    if (paymentId != null) {
-                        paymentServiceClient.refundPayment(paymentId, compensationData);
-                    }
-                    break;
-                case "SEND_NOTIFICATION":
-                    // Send cancellation notification
-                    compensationData.put("type", "ORDER_CANCELLATION");
-                    notificationServiceClient.sendOrderCancellation(compensationData);
-                    break;
-            }
-            
-            step.compensated();
-            sagaRepository.save(saga);
-            
-            logger.info("Step {} compensated for saga {}", step.getStepName(), saga.getSagaId());
-            
-    } catch (Exception e) {
-        logger.error("Failed to compensate step {} for saga {}", 
-            step.getStepName(), saga.getSagaId(), e);
-        throw new RuntimeException(e);
+    private void submitAfterCommit(Runnable submission) {
+        // Hand the saga to the engine only once its rows are committed, so workers never
+        // race the request transaction
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submission.run();
+                }
+            });
+        } else {
+            submission.run();
+        }
     }
+
+    // Served from the status cache when possible; no transaction, so a hit never takes
+    // a database connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SagaTransaction getSagaStatus(String sagaId) {
+        return statusCache.get(sagaId).orElseGet(() -> {
+            SagaTransaction saga = stateStore.load(sagaId);
+            statusCache.put(saga);
+            return saga;
+        });
     }
 
-    private void handleSagaFailure(SagaTransaction saga, String errorMessage) {
-        saga.fail(errorMessage);
-        sagaRepository.save(saga);
-        logger.error("Saga {} failed: {}", saga.getSagaId(), errorMessage);
+    public List<SagaEvent> getSagaHistory(String sagaId) {
+        return stateStore.history(sagaId);
     }
 
-    public SagaTransaction getSagaStatus(String sagaId) {
-        return sagaRepository.findBySagaId(sagaId)
-                .orElseThrow(() -> new RuntimeException("Saga not found: " + sagaId));
+    // Listings read the snapshot rows, which trail the event log by at most a few events
+    @Transactional(readOnly = true)
+    public SagaPage listSagas(SagaTransaction.SagaStatus status, String sagaType, String cursor, int limit) {
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+        // One extra row tells whether another page follows without a COUNT
+        List<SagaSummary> rows = queryRepository.findPage(
+                status != null ? status.name() : null, sagaType, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new SagaPage(rows, null);
+        }
+        List<SagaSummary> items = rows.subList(0, limit);
+        SagaSummary last = items.get(limit - 1);
+        return new SagaPage(new ArrayList<>(items), new Cursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public List<SagaTransaction> getAllSagas() {
-        return sagaRepository.findAll();
+    @Transactional(readOnly = true)
+    public void exportSagas(SagaTransaction.SagaStatus status, String sagaType, Consumer<SagaSummary> consumer) {
+        queryRepository.streamAll(status != null ? status.name() : null, sagaType, consumer);
     }
 
     public void retrySaga(String sagaId) {
-        SagaTransaction saga = getSagaStatus(sagaId);
+        SagaTransaction saga = stateStore.load(sagaId);
         if (saga.isFailed()) {
             logger.info("Retrying saga {}", sagaId);
-            saga.setStatus(SagaTransaction.SagaStatus.IN_PROGRESS);
-            saga.setErrorMessage(null);
-            executeNextStep(saga);
+            stateStore.requestRetry(saga);
+            // Already snapshotted as IN_PROGRESS, so the partition poller resumes it if the pool is full
+            submitAfterCommit(() -> executionEngine.resume(sagaId));
         } else {
             throw new RuntimeException("Cannot retry saga in status: " + saga.getStatus());
         }
@@ -0,0 +1,154 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.repository.SagaArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Retention job: moves terminal sagas older than saga.cleanup.retention-days, with their
+// steps and events, into the archive tables in batches of saga.cleanup.batch-size, then
+// purges Idempotency-Keys past their replay window.
+//
+// Each batch is one short transaction. Between batches the job sleeps at least as long
+// as the batch took (and never less than saga.cleanup.pause-ms), so it uses at most
+// half of one connection and backs off by itself when the database is busy. A run with
+// its pauses can take a long time, so it runs on the maintenance pool; the scheduled
+// trigger only hands it over.
+@Service
+public class SagaArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaArchiver.class);
+
+    private static final List<SagaTransaction.SagaStatus> TERMINAL_STATUSES = List.of(
+            SagaTransaction.SagaStatus.COMPLETED,
+            SagaTransaction.SagaStatus.COMPENSATED,
+            SagaTransaction.SagaStatus.FAILED);
+
+    // The owner of this partition runs the job, so exactly one replica archives
+    private static final int ARCHIVER_PARTITION = 0;
+
+    @Autowired
+    @Qualifier("sagaMaintenanceExecutor")
+    private TaskExecutor maintenanceExecutor;
+
+    @Autowired
+    private SagaArchiveRepository archiveRepository;
+
+    @Autowired
+    private SagaPartitionManager partitionManager;
+
+    @Autowired
+    private SagaIdempotencyKeys idempotencyKeys;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${saga.cleanup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${saga.cleanup.batch-size:100}")
+    private int batchSize;
+
+    @Value("${saga.cleanup.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${saga.cleanup.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${saga.cleanup.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    private final Counter archivedCounter;
+
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    public SagaArchiver(MeterRegistry meterRegistry) {
+        this.archivedCounter = Counter.builder("saga.cleanup.archived")
+                .description("Terminal sagas moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${saga.cleanup.interval-ms:600000}")
+    public void archiveExpiredSagas() {
+        if (!enabled || !partitionManager.getOwnedPartitions().contains(ARCHIVER_PARTITION)
+                || !archiving.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    archive();
+                } finally {
+                    archiving.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            archiving.set(false);
+            logger.warn("Saga archival skipped, the maintenance pool is busy");
+        }
+    }
+
+    private void archive() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        try {
+            for (SagaTransaction.SagaStatus status : TERMINAL_STATUSES) {
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    long startedAt = System.currentTimeMillis();
+                    Integer archived = transactionTemplate.execute(tx -> archiveBatch(status, cutoff));
+                    total += archived;
+                    archivedCounter.increment(archived);
+
+                    if (archived < batchSize) {
+                        break;
+                    }
+                    Thread.sleep(Math.max(pauseMillis, System.currentTimeMillis() - startedAt));
+                }
+            }
+            purgeIdempotencyKeys();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Saga archival failed", e);
+        }
+
+        if (total > 0) {
+            logger.info("Archived {} sagas last updated before {}", total, cutoff);
+        }
+    }
+
+    // Keys past their replay window, with the same batch size and duty cycle
+    private void purgeIdempotencyKeys() throws InterruptedException {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long startedAt = System.currentTimeMillis();
+            if (idempotencyKeys.purgeExpired(batchSize) < batchSize) {
+                return;
+            }
+            Thread.sleep(Math.max(pauseMillis, System.currentTimeMillis() - startedAt));
+        }
+    }
+
+    private int archiveBatch(SagaTransaction.SagaStatus status, LocalDateTime cutoff) {
+        List<Long> ids = archiveRepository.findArchivable(status.name(), cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.archive(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.definition.SagaDefinition;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// Registry of SagaDefinition beans keyed by saga type, built once at startup
+@Component
+public class SagaDefinitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaDefinitions.class);
+
+    private final Map<String, SagaDefinition<?>> definitions = new HashMap<>();
+    private final Map<String, Map<String, StepHandler<?>>> handlers = new HashMap<>();
+
+    public SagaDefinitions(List<SagaDefinition<?>> sagaDefinitions) {
+        for (SagaDefinition<?> definition : sagaDefinitions) {
+            String sagaType = definition.getSagaType();
+            if (definitions.putIfAbsent(sagaType, definition) != null) {
+                throw new IllegalStateException("Duplicate saga definition for type " + sagaType);
+            }
+
+            Map<String, StepHandler<?>> steps = new LinkedHashMap<>();
+            for (StepHandler<?> handler : definition.getSteps()) {
+                if (!definition.getStepGraph().contains(handler.getStepName())) {
+                    throw new IllegalStateException("Step " + handler.getStepName() + " of saga type "
+                            + sagaType + " is missing from its step graph");
+                }
+                steps.put(handler.getStepName(), handler);
+            }
+            handlers.put(sagaType, steps);
+            logger.info("Registered saga type {} with steps {}", sagaType, steps.keySet());
+        }
+    }
+
+    public SagaDefinition<?> get(String sagaType) {
+        SagaDefinition<?> definition = definitions.get(sagaType);
+        if (definition == null) {
+            throw new IllegalArgumentException("Unknown saga type: " + sagaType);
+        }
+        return definition;
+    }
+
+    public StepHandler<?> handlerFor(String sagaType, String stepName) {
+        StepHandler<?> handler = handlers.getOrDefault(sagaType, Collections.emptyMap()).get(stepName);
+        if (handler == null) {
+            throw new RuntimeException("No handler for step " + stepName + " of saga type " + sagaType);
+        }
+        return handler;
+    }
+
+    // Sagas whose steps no longer match their definition keep the strict step-number sequence
+    public SagaStepGraph graphFor(SagaTransaction saga) {
+        SagaDefinition<?> definition = definitions.get(saga.getSagaType());
+        if (definition != null && saga.getSteps().stream()
+                .allMatch(step -> definition.getStepGraph().contains(step.getStepName()))) {
+            return definition.getStepGraph();
+        }
+        return SagaStepGraph.linear(saga.getSteps().stream()
+                .sorted(Comparator.comparing(SagaStep::getStepNumber))
+                .map(SagaStep::getStepName)
+                .toList());
+    }
+}
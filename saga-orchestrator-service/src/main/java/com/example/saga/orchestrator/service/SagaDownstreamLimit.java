@@ -0,0 +1,101 @@
+package com.example.saga.orchestrator.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Adaptive cap on concurrent calls to one downstream participant, adjusted AIMD-style from
+// the latency of its calls. A call that completes near the participant's usual latency
+// grows the limit by 1/limit, about one per round trip's worth of calls. A call that fails
+// transiently (timeout, refused connection, 429/503) or whose recent latency exceeds
+// latency-tolerance times the long-run average shrinks it by backoff-ratio, at most once
+// per round trip.
+//
+// When a participant slows down fewer of its calls are in flight, and the rest wait in
+// their SagaStepLimiter queues instead of holding saga workers.
+class SagaDownstreamLimit {
+
+    // Smoothing of the recent and long-run latency averages
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double LONG_ALPHA = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Runnable> releaseListeners = new CopyOnWriteArrayList<>();
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+    private long lastDecreaseNanos;
+
+    SagaDownstreamLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Ends a call and lets the step limiters waiting on this participant dispatch
+    void release() {
+        inFlight.decrementAndGet();
+        releaseListeners.forEach(Runnable::run);
+    }
+
+    // Gives back a permit that was acquired but never used, without waking anyone
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    void addReleaseListener(Runnable listener) {
+        releaseListeners.add(listener);
+    }
+
+    synchronized void onSample(long latencyNanos, boolean dropped) {
+        if (longLatencyNanos == 0) {
+            shortLatencyNanos = latencyNanos;
+            longLatencyNanos = latencyNanos;
+        } else {
+            shortLatencyNanos += SHORT_ALPHA * (latencyNanos - shortLatencyNanos);
+            longLatencyNanos += LONG_ALPHA * (latencyNanos - longLatencyNanos);
+        }
+
+        long now = System.nanoTime();
+        if (dropped || shortLatencyNanos > latencyTolerance * longLatencyNanos) {
+            if (now - lastDecreaseNanos >= shortLatencyNanos) {
+                limit = Math.max(minLimit, Math.floor(limit * backoffRatio));
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight.get() * 2 >= (int) limit) {
+            // Only grow while the limit is actually being used, so an idle participant
+            // does not drift up to maxLimit
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.saga.orchestrator.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One SagaDownstreamLimit per participant (e.g. payment-service), shared by every step and
+// compensation calling it. Settings come from properties, per participant:
+//   saga.downstream.<participant>.initial-limit / min-limit / max-limit
+//   saga.downstream.<participant>.backoff-ratio / latency-tolerance
+// each falling back to saga.downstream.default.*
+@Component
+public class SagaDownstreamLimits {
+
+    private final Map<String, SagaDownstreamLimit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    SagaDownstreamLimit forParticipant(String participant) {
+        return limits.computeIfAbsent(participant, this::create);
+    }
+
+    private SagaDownstreamLimit create(String participant) {
+        SagaDownstreamLimit limit = new SagaDownstreamLimit(
+                setting(participant, "initial-limit", Integer.class, 16),
+                setting(participant, "min-limit", Integer.class, 1),
+                setting(participant, "max-limit", Integer.class, 64),
+                setting(participant, "backoff-ratio", Double.class, 0.9),
+                setting(participant, "latency-tolerance", Double.class, 2.0));
+
+        Gauge.builder("saga.downstream.limit", limit, SagaDownstreamLimit::getLimit)
+                .description("Current adaptive concurrency limit for calls to a participant")
+                .tag("participant", participant)
+                .register(meterRegistry);
+        Gauge.builder("saga.downstream.in-flight", limit, SagaDownstreamLimit::getInFlight)
+                .description("Step calls to a participant currently in flight")
+                .tag("participant", participant)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private <V> V setting(String participant, String name, Class<V> type, V defaultValue) {
+        V fallback = environment.getProperty("saga.downstream.default." + name, type, defaultValue);
+        return environment.getProperty("saga.downstream." + participant + "." + name, type, fallback);
+    }
+}
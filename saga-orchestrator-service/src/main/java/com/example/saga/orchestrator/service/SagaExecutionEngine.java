@@ -0,0 +1,628 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.messaging.SagaCommandPublisher;
+import com.example.saga.orchestrator.model.SagaReply;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drives persisted sagas on the bounded saga worker pool, off the HTTP request thread.
+// Each transition is appended to the saga's event log by SagaStateStore in its own
+// transaction, so a saga only touches the database briefly between downstream calls.
+//
+// Steps are scheduled from the saga's step graph: every step whose dependencies have
+// completed is dispatched as its own task, and the task that finishes last decides what
+// happens next. No worker ever blocks waiting for a sibling step.
+//
+// Each step is performed by its saga type's StepHandler (SagaDefinitions); a handler's
+// steps beyond its max concurrency, or beyond the adaptive limit of the participant it
+// calls (SagaDownstreamLimits), wait in its SagaStepLimiter rather than on a worker.
+//
+// Steps use Feign or Kafka per SagaStepTransports. A Kafka step only publishes its
+// command; the saga continues on whichever worker handles the participant's reply.
+//
+// Each step call runs in a span restored from the saga's stored trace context (SagaTracing).
+//
+// The worker pool rejects work once it is full rather than running it on the caller.
+// New sagas then stay in SagaIntake; anything else already persisted is left to the
+// partition poller, and a run that cannot continue is dropped so the poller rebuilds it.
+//
+// A node only drives sagas in partitions it owns (SagaPartitionManager). The unique
+// (saga_id, seq) key on the event log fences out a node that keeps running a saga
+// after its partition moved: its next append fails and the run is abandoned.
+@Service
+public class SagaExecutionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaExecutionEngine.class);
+
+    private static final String POOL_FULL = "saga worker pool is full";
+
+    private static final Set<SagaTransaction.SagaStatus> RUNNABLE_STATUSES = EnumSet.of(
+            SagaTransaction.SagaStatus.STARTED,
+            SagaTransaction.SagaStatus.IN_PROGRESS);
+
+    @Autowired
+    @Qualifier("sagaExecutor")
+    private TaskExecutor sagaExecutor;
+
+    @Autowired
+    private SagaStateStore stateStore;
+
+    @Autowired
+    private SagaStepInvoker stepInvoker;
+
+    @Autowired
+    private SagaDefinitions definitions;
+
+    @Autowired
+    private SagaDownstreamLimits downstreamLimits;
+
+    @Autowired
+    private SagaStepTransports stepTransports;
+
+    @Autowired
+    private SagaCommandPublisher commandPublisher;
+
+    @Autowired
+    private SagaPartitionManager partitionManager;
+
+    @Autowired
+    private SagaRetryPolicy retryPolicy;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SagaMetrics metrics;
+
+    @Autowired
+    private SagaTracing tracing;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${saga.compensation.deadline-seconds:60}")
+    private long compensationDeadlineSeconds;
+
+    // Sagas currently driven by this node
+    private final Map<String, SagaRun> activeRuns = new ConcurrentHashMap<>();
+
+    // Sagas submitted to the worker pool that have not started running yet
+    private final AtomicInteger pendingRuns = new AtomicInteger();
+
+    // Per step handler cap on concurrently executing steps, across all sagas on this node
+    private final Map<StepHandler<?>, SagaStepLimiter> stepLimiters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        metrics.registerInFlight(activeRuns::values);
+    }
+
+    // Sagas owned by another node are left to that node's SagaPartitionPoller. Throws
+    // TaskRejectedException when the worker pool is full.
+    public void submit(String sagaId) {
+        if (partitionManager.owns(sagaId)) {
+            pendingRuns.incrementAndGet();
+            try {
+                sagaExecutor.execute(() -> {
+                    pendingRuns.decrementAndGet();
+                    runSaga(sagaId);
+                });
+            } catch (RuntimeException e) {
+                pendingRuns.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    public void submitCompensation(String sagaId) {
+        if (partitionManager.owns(sagaId)) {
+            executeOrDefer(sagaId, () -> compensateSaga(sagaId, null));
+        }
+    }
+
+    // Sagas this node is driving or about to drive; SagaIntake holds new sagas back above a limit
+    public int getLoad() {
+        return activeRuns.size() + pendingRuns.get();
+    }
+
+    public boolean isRunning(String sagaId) {
+        return activeRuns.containsKey(sagaId);
+    }
+
+    // Picks up an owned saga that is not running here: retries, manual compensations and
+    // sagas taken over from a dead node (new sagas come through SagaIntake instead)
+    public void resume(String sagaId) {
+        if (!activeRuns.containsKey(sagaId) && partitionManager.owns(sagaId)) {
+            executeOrDefer(sagaId, () -> resumeSaga(sagaId));
+        }
+    }
+
+    private void resumeSaga(String sagaId) {
+        try {
+            SagaTransaction.SagaStatus status = stateStore.load(sagaId).getStatus();
+            if (status == SagaTransaction.SagaStatus.COMPENSATING) {
+                compensateSaga(sagaId, null);
+            } else if (status == SagaTransaction.SagaStatus.STARTED || status == SagaTransaction.SagaStatus.IN_PROGRESS) {
+                runSaga(sagaId);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to resume saga {}", sagaId, e);
+        }
+    }
+
+    private void runSaga(String sagaId) {
+        SagaRun run = null;
+        try {
+            SagaTransaction saga = stateStore.load(sagaId);
+            if (!RUNNABLE_STATUSES.contains(saga.getStatus())) {
+                return;
+            }
+
+            run = new SagaRun(saga, definitions.graphFor(saga));
+            if (activeRuns.putIfAbsent(sagaId, run) != null) {
+                return;
+            }
+            stateStore.parkedSteps(sagaId).forEach(run::park);
+            stateStore.startExecution(run);
+            if (run.isFinished()) {
+                completeSaga(run);
+                return;
+            }
+            dispatchReadySteps(run);
+
+        } catch (Exception e) {
+            logger.error("Failed to execute saga {}", sagaId, e);
+            if (run != null) {
+                handleSagaFailure(run, e.getMessage());
+            }
+        }
+    }
+
+    private void dispatchReadySteps(SagaRun run) {
+        if (!partitionManager.owns(run.getSagaId())) {
+            // The partition moved; its new owner resumes the saga from the log
+            abandon(run, "partition moved to another node");
+            return;
+        }
+
+        List<SagaStep> ready = run.claimReadySteps();
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        stateStore.startSteps(run, ready);
+        for (SagaStep step : ready) {
+            limiterFor(run, step).submit(() -> executeStep(run, step), () -> abandon(run, POOL_FULL));
+        }
+    }
+
+    private void executeStep(SagaRun run, SagaStep step) {
+        if (run.isAbandoned()) {
+            return;
+        }
+        run.stepStarted(step);
+        tracing.inStep(run, step, "execute", () -> performStep(run, step));
+    }
+
+    private void performStep(SagaRun run, SagaStep step) {
+        if (stepTransports.transportFor(step) == SagaStepTransports.Transport.KAFKA) {
+            sendStepCommand(run, step);
+            return;
+        }
+
+        String sagaId = run.getSagaId();
+        String responsePayload;
+        try {
+            logger.info("Executing step {} for saga {}", step.getStepName(), sagaId);
+            responsePayload = stepInvoker.execute(run, step);
+        } catch (Exception e) {
+            logger.error("Step {} failed for saga {}", step.getStepName(), sagaId, e);
+            onStepFailed(run, step, e.getMessage(), e);
+            return;
+        }
+
+        onStepSucceeded(run, step, responsePayload);
+    }
+
+    // The worker returns as soon as the command is handed to the producer; the saga
+    // advances when the participant's reply arrives through SagaReplyListener
+    private void sendStepCommand(SagaRun run, SagaStep step) {
+        String sagaId = run.getSagaId();
+        run.awaitReply(step);
+        try {
+            commandPublisher.send(run.getSaga(), step).whenComplete((result, e) -> {
+                if (e != null && run.takeReply(step)) {
+                    logger.error("Failed to publish command for step {} of saga {}", step.getStepName(), sagaId, e);
+                    continueRun(run, () -> onStepFailed(run, step, e.getMessage(), e));
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to publish command for step {} of saga {}", step.getStepName(), sagaId, e);
+            if (run.takeReply(step)) {
+                onStepFailed(run, step, e.getMessage(), e);
+            }
+        }
+    }
+
+    // Throws TaskRejectedException when the worker pool is full, so the reply is redelivered
+    public void onStepReply(SagaReply reply) {
+        sagaExecutor.execute(() -> handleStepReply(reply));
+    }
+
+    private void handleStepReply(SagaReply reply) {
+        String sagaId = reply.getSagaId();
+        if (!partitionManager.owns(sagaId)) {
+            return;
+        }
+        try {
+            // A reply can outlive the node that sent the command; rebuild the run from the log
+            SagaRun run = activeRuns.computeIfAbsent(sagaId, this::resumeRun);
+            SagaStep step = run == null ? null : run.getStep(reply.getStepName());
+            if (step == null || !run.takeReply(step)) {
+                logger.debug("Ignoring reply {} for saga {}", reply.getCommandId(), sagaId);
+                return;
+            }
+
+            if (reply.isSuccess()) {
+                logger.info("Step {} replied success for saga {}", step.getStepName(), sagaId);
+                onStepSucceeded(run, step, reply.getResponse() != null ? reply.getResponse().toString() : null);
+            } else {
+                logger.error("Step {} replied failure for saga {}: {}", step.getStepName(), sagaId, reply.getErrorMessage());
+                onStepFailed(run, step, reply.getErrorMessage(), null);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to handle reply {} for saga {}", reply.getCommandId(), sagaId, e);
+        }
+    }
+
+    private SagaRun resumeRun(String sagaId) {
+        SagaTransaction saga = stateStore.load(sagaId);
+        if (saga.getStatus() != SagaTransaction.SagaStatus.IN_PROGRESS) {
+            return null;
+        }
+
+        SagaRun run = new SagaRun(saga, definitions.graphFor(saga));
+        saga.getSteps().stream()
+                .filter(step -> step.getStatus() == SagaStep.StepStatus.EXECUTING)
+                .forEach(step -> run.resumeAwaitingReply(run.getStep(step.getStepName())));
+        return run;
+    }
+
+    private void onStepSucceeded(SagaRun run, SagaStep step, String responsePayload) {
+        String sagaId = run.getSagaId();
+        try {
+            // Record the completion before telling the run about it, so that a compensation
+            // started by a failing sibling always sees this step as completed
+            metrics.stepExecuted(run, step, SagaMetrics.SUCCESS, run.stepElapsedNanos(step));
+            stateStore.completeStep(run, step, responsePayload);
+            logger.info("Step {} completed for saga {}", step.getStepName(), sagaId);
+
+            switch (run.onStepFinished(step, true)) {
+                case COMPLETE:
+                    completeSaga(run);
+                    break;
+                case DISPATCH:
+                    dispatchReadySteps(run);
+                    break;
+                case COMPENSATE:
+                    // A sibling failed while this step was in flight
+                    compensateSaga(sagaId, run);
+                    break;
+                case WAIT:
+                    break;
+            }
+        } catch (Exception e) {
+            logger.error("Failed to advance saga {} after step {}", sagaId, step.getStepName(), e);
+            handleSagaFailure(run, e.getMessage());
+        }
+    }
+
+    // cause is null for failures reported by the participant itself, which are never retried
+    private void onStepFailed(SagaRun run, SagaStep step, String errorMessage, Throwable cause) {
+        boolean retry = cause != null && retryPolicy.isTransient(cause) && step.canRetry();
+        metrics.stepExecuted(run, step, retry ? SagaMetrics.RETRY : SagaMetrics.FAILURE, run.stepElapsedNanos(step));
+        if (retry) {
+            try {
+                scheduleRetry(run, step, errorMessage);
+                return;
+            } catch (Exception e) {
+                logger.error("Failed to schedule retry of step {} for saga {}",
+                        step.getStepName(), run.getSagaId(), e);
+            }
+        }
+
+        try {
+            stateStore.failStep(run, step, errorMessage);
+        } catch (Exception e) {
+            logger.error("Failed to record failure of step {} for saga {}",
+                    step.getStepName(), run.getSagaId(), e);
+        }
+
+        if (run.onStepFinished(step, false) == SagaRun.Outcome.COMPENSATE) {
+            compensateSaga(run.getSagaId(), run);
+        }
+    }
+
+    private void scheduleRetry(SagaRun run, SagaStep step, String errorMessage) {
+        step.retry();
+        long delayMillis = retryPolicy.backoffMillis(step.getRetryCount());
+        stateStore.scheduleStepRetry(run, step, errorMessage, delayMillis);
+        logger.warn("Step {} of saga {} failed transiently, retry {}/{} in {} ms",
+                step.getStepName(), run.getSagaId(), step.getRetryCount(), step.getMaxRetries(), delayMillis);
+
+        if (run.onStepParked(step) == SagaRun.Outcome.COMPENSATE) {
+            compensateSaga(run.getSagaId(), run);
+        }
+    }
+
+    // Throws TaskRejectedException when the worker pool is full; the caller reschedules the retry
+    public void retryStep(String sagaId, int stepNumber) {
+        sagaExecutor.execute(() -> {
+            SagaRun run = activeRuns.get(sagaId);
+            if (run == null) {
+                // Not running here any more; a rebuilt run dispatches the released step
+                resumeSaga(sagaId);
+                return;
+            }
+            try {
+                run.unpark(stepNumber);
+                dispatchReadySteps(run);
+            } catch (Exception e) {
+                logger.error("Failed to retry step {} of saga {}", stepNumber, sagaId, e);
+                handleSagaFailure(run, e.getMessage());
+            }
+        });
+    }
+
+    // Called by SagaTimeoutSweeper for an owned saga that made no progress within the
+    // timeout. A stuck forward run is compensated, with its in-flight steps failed; a stuck
+    // compensation is retried from the log.
+    public void timeOut(SagaTransaction saga, String reason) {
+        String sagaId = saga.getSagaId();
+        SagaRun stuck = activeRuns.get(sagaId);
+        if (stuck != null) {
+            abandon(stuck, reason);
+        }
+
+        if (saga.getStatus() == SagaTransaction.SagaStatus.COMPENSATING) {
+            compensateSaga(sagaId, null);
+            return;
+        }
+
+        SagaRun run = new SagaRun(saga, definitions.graphFor(saga));
+        if (activeRuns.putIfAbsent(sagaId, run) != null) {
+            return;
+        }
+        try {
+            for (SagaStep step : saga.getSteps()) {
+                if (step.getStatus() == SagaStep.StepStatus.EXECUTING) {
+                    stateStore.failStep(run, step, reason);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to time out saga {}", sagaId, e);
+            handleSagaFailure(run, e.getMessage());
+            return;
+        }
+        compensateSaga(sagaId, run);
+    }
+
+    private void completeSaga(SagaRun run) {
+        stateStore.completeSaga(run);
+        activeRuns.remove(run.getSagaId(), run);
+        finished(run, SagaTransaction.SagaStatus.COMPLETED);
+        logger.info("Saga {} completed successfully", run.getSagaId());
+    }
+
+    // run is null when compensation was requested for a saga that is not executing here.
+    //
+    // Each completed step is compensated as soon as every dependent that also needs
+    // compensation has been undone, so independent branches (e.g. inventory release and
+    // payment refund) run concurrently. The whole compensation is bounded by a per-saga
+    // deadline; no worker waits on it.
+    private void compensateSaga(String sagaId, SagaRun run) {
+        try {
+            logger.info("Starting compensation for saga {}", sagaId);
+
+            // Completed steps' responses are only in the log, so compensation folds fresh state
+            SagaTransaction saga = stateStore.load(sagaId);
+            SagaRun compensationRun = run != null ? run : new SagaRun(saga, definitions.graphFor(saga));
+            if (run == null && activeRuns.putIfAbsent(sagaId, compensationRun) != null) {
+                // Already being driven here; a requested compensation takes over through the log
+                return;
+            }
+            stateStore.beginCompensation(compensationRun);
+            long compensationStart = System.nanoTime();
+
+            SagaStepGraph graph = compensationRun.getGraph();
+            Map<String, SagaStep> pending = new LinkedHashMap<>();
+            for (String stepName : graph.reverseTopologicalOrder()) {
+                saga.getSteps().stream()
+                        .filter(step -> step.getStepName().equals(stepName) && step.needsCompensation())
+                        .findFirst()
+                        .ifPresent(step -> pending.put(stepName, step));
+            }
+
+            // Reverse topological order guarantees dependents are scheduled first
+            Map<String, CompletableFuture<Void>> compensations = new LinkedHashMap<>();
+            Map<String, String> failures = new ConcurrentHashMap<>();
+            for (SagaStep step : pending.values()) {
+                CompletableFuture<?>[] dependents = graph.dependentsOf(step.getStepName()).stream()
+                        .filter(compensations::containsKey)
+                        .map(compensations::get)
+                        .toArray(CompletableFuture[]::new);
+
+                // A failed dependent compensation leaves this step untouched
+                compensations.put(step.getStepName(), CompletableFuture.allOf(dependents)
+                        .thenRunAsync(() -> tracing.inStep(compensationRun, step, "compensate",
+                                () -> compensateStep(compensationRun, step, failures)), sagaExecutor));
+            }
+
+            CompletableFuture.allOf(compensations.values().toArray(CompletableFuture[]::new))
+                    .orTimeout(compensationDeadlineSeconds, TimeUnit.SECONDS)
+                    .whenComplete((ignored, error) -> continueRun(compensationRun, () ->
+                            finishCompensation(compensationRun, compensations, failures, error,
+                                    System.nanoTime() - compensationStart)));
+
+        } catch (Exception e) {
+            logger.error("Failed to compensate saga {}", sagaId, e);
+            if (run != null) {
+                handleSagaFailure(run, "Compensation failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void compensateStep(SagaRun run, SagaStep step, Map<String, String> failures) {
+        logger.info("Compensating step {} for saga {}", step.getStepName(), run.getSagaId());
+
+        long start = System.nanoTime();
+        try {
+            StepCompensation compensation = stepInvoker.prepareCompensation(run, step);
+            stateStore.startStepCompensation(run, step, compensation != null ? compensation.body() : null);
+
+            stepInvoker.compensate(run, step, compensation);
+            stateStore.stepCompensated(run, step);
+            metrics.stepCompensated(run, step, SagaMetrics.SUCCESS, System.nanoTime() - start);
+        } catch (Exception e) {
+            metrics.stepCompensated(run, step, SagaMetrics.FAILURE, System.nanoTime() - start);
+            logger.error("Compensation of step {} failed for saga {}", step.getStepName(), run.getSagaId(), e);
+            failures.put(step.getStepName(), step.getStepName() + ": " + e.getMessage());
+            throw new CompletionException(e);
+        }
+
+        logger.info("Step {} compensated for saga {}", step.getStepName(), run.getSagaId());
+    }
+
+    private void finishCompensation(SagaRun run, Map<String, CompletableFuture<Void>> compensations,
+                                    Map<String, String> failures, Throwable error, long elapsedNanos) {
+        String sagaId = run.getSagaId();
+        if (error instanceof TimeoutException) {
+            metrics.compensationFinished(run, SagaMetrics.TIMED_OUT, elapsedNanos);
+            List<String> unfinished = compensations.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isDone())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            // Compensations not yet started are abandoned; in-flight calls still record their result
+            compensations.values().forEach(future -> future.cancel(false));
+            handleSagaFailure(run, "Compensation deadline of " + compensationDeadlineSeconds
+                    + "s exceeded, unfinished steps: " + unfinished);
+            return;
+        }
+
+        if (causedBy(error, RejectedExecutionException.class)) {
+            // Some compensations never got a worker; the poller resumes the compensation from the log
+            abandon(run, POOL_FULL);
+            return;
+        }
+
+        if (error != null) {
+            metrics.compensationFinished(run, SagaMetrics.FAILURE, elapsedNanos);
+            handleSagaFailure(run, "Compensation failed: " + String.join("; ", failures.values()));
+            return;
+        }
+
+        metrics.compensationFinished(run, SagaMetrics.SUCCESS, elapsedNanos);
+        try {
+            stateStore.finishCompensation(run);
+            activeRuns.remove(sagaId, run);
+            finished(run, SagaTransaction.SagaStatus.COMPENSATED);
+            logger.info("Compensation completed for saga {}", sagaId);
+        } catch (Exception e) {
+            logger.error("Failed to record compensation of saga {}", sagaId, e);
+            handleSagaFailure(run, "Compensation failed: " + e.getMessage());
+        }
+    }
+
+    private void handleSagaFailure(SagaRun run, String errorMessage) {
+        if (run.isAbandoned()) {
+            abandon(run, "saga is driven by another node");
+            return;
+        }
+        activeRuns.remove(run.getSagaId(), run);
+        try {
+            stateStore.failSaga(run, errorMessage);
+            finished(run, SagaTransaction.SagaStatus.FAILED);
+            logger.error("Saga {} failed: {}", run.getSagaId(), errorMessage);
+        } catch (Exception e) {
+            logger.error("Failed to record failure for saga {}", run.getSagaId(), e);
+        }
+    }
+
+    private void finished(SagaRun run, SagaTransaction.SagaStatus status) {
+        metrics.sagaFinished(run, status);
+        eventPublisher.publishEvent(new SagaFinishedEvent(run.getSagaId(), run.getSaga().getSagaType(), status));
+    }
+
+    private SagaStepLimiter limiterFor(SagaRun run, SagaStep step) {
+        return stepLimiters.computeIfAbsent(stepInvoker.handlerFor(run, step), handler -> {
+            SagaStepLimiter limiter = new SagaStepLimiter(handler.getMaxConcurrency(),
+                    downstreamLimits.forParticipant(handler.getParticipant()), sagaExecutor);
+            Gauge.builder("saga.steps.waiting", limiter, SagaStepLimiter::getWaiting)
+                    .description("Ready steps waiting for their handler's concurrency limit")
+                    .tag("step", handler.getStepName())
+                    .register(meterRegistry);
+            return limiter;
+        });
+    }
+
+    // For persisted work the partition poller finds again on its own
+    private void executeOrDefer(String sagaId, Runnable task) {
+        try {
+            sagaExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            logger.warn("Saga worker pool is full, leaving saga {} to the partition poller", sagaId);
+        }
+    }
+
+    // Hands the next part of a run to the pool; a run that gets no worker is dropped here
+    // and rebuilt from the log by the partition poller
+    private void continueRun(SagaRun run, Runnable task) {
+        try {
+            sagaExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            abandon(run, POOL_FULL);
+        }
+    }
+
+    private static boolean causedBy(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void abandon(SagaRun run, String reason) {
+        run.abandon();
+        activeRuns.remove(run.getSagaId(), run);
+        logger.warn("Abandoning local run of saga {}: {}", run.getSagaId(), reason);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaTransaction;
+
+// Published by the engine once a saga's terminal event has committed on this node
+public record SagaFinishedEvent(String sagaId, String sagaType, SagaTransaction.SagaStatus status) {
+}
@@ -0,0 +1,129 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.repository.SagaIdempotencyRepository;
+import com.example.saga.orchestrator.repository.SagaIdempotencyRepository.KeyClaim;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Maps Idempotency-Key headers to the saga they started. A retried request is answered
+// from a per-node LRU near cache when possible, otherwise by a primary-key lookup; only
+// a first-seen key reaches the claiming insert in the start transaction.
+//
+// A key replayed with a different request body is a client error, not a replay.
+@Service
+public class SagaIdempotencyKeys {
+
+    private record CachedClaim(KeyClaim claim, long expiresAt) {
+    }
+
+    @Autowired
+    private SagaIdempotencyRepository idempotencyRepository;
+
+    @Value("${saga.idempotency.window-seconds:86400}")
+    private long windowSeconds;
+
+    private final Map<String, CachedClaim> nearCache;
+    private final Counter replays;
+
+    public SagaIdempotencyKeys(@Value("${saga.idempotency.near-cache-size:10000}") int nearCacheSize,
+                               MeterRegistry meterRegistry) {
+        this.nearCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaim> eldest) {
+                return size() > nearCacheSize;
+            }
+        };
+        this.replays = Counter.builder("saga.idempotency.replays")
+                .description("Saga starts answered with the saga of an earlier request")
+                .register(meterRegistry);
+    }
+
+    // The saga already started under this key within the window, if any
+    public Optional<String> findStarted(String idempotencyKey, String requestHash) {
+        KeyClaim claim = cached(idempotencyKey);
+        if (claim == null) {
+            claim = idempotencyRepository.find(idempotencyKey, windowSeconds).orElse(null);
+            if (claim != null) {
+                remember(idempotencyKey, claim);
+            }
+        }
+        return replayOf(idempotencyKey, claim, requestHash);
+    }
+
+    // Claims the key for a saga about to be inserted in the current transaction. Returns
+    // the earlier saga instead when another request holds the key.
+    public Optional<String> claim(String idempotencyKey, String sagaId, String requestHash) {
+        KeyClaim claim = idempotencyRepository.claim(idempotencyKey, sagaId, requestHash, windowSeconds);
+        if (claim.sagaId().equals(sagaId)) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(idempotencyKey, claim);
+                }
+            });
+            return Optional.empty();
+        }
+        remember(idempotencyKey, claim);
+        return replayOf(idempotencyKey, claim, requestHash);
+    }
+
+    public int purgeExpired(int limit) {
+        return idempotencyRepository.deleteExpired(windowSeconds, limit);
+    }
+
+    public static String hash(String sagaType, String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(sagaType.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to hash saga request", e);
+        }
+    }
+
+    private Optional<String> replayOf(String idempotencyKey, KeyClaim claim, String requestHash) {
+        if (claim == null) {
+            return Optional.empty();
+        }
+        if (!claim.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+        replays.increment();
+        return Optional.of(claim.sagaId());
+    }
+
+    private KeyClaim cached(String idempotencyKey) {
+        synchronized (nearCache) {
+            CachedClaim cached = nearCache.get(idempotencyKey);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() <= System.currentTimeMillis()) {
+                nearCache.remove(idempotencyKey);
+                return null;
+            }
+            return cached.claim();
+        }
+    }
+
+    // Cached only for what is left of the claim's window
+    private void remember(String idempotencyKey, KeyClaim claim) {
+        long expiresAt = System.currentTimeMillis() + windowSeconds * 1000 - claim.ageMillis();
+        synchronized (nearCache) {
+            nearCache.put(idempotencyKey, new CachedClaim(claim, expiresAt));
+        }
+    }
+}
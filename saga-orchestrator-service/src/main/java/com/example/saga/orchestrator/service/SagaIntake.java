@@ -0,0 +1,175 @@
+package com.example.saga.orchestrator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded queue between the API and the saga engine. New sagas are admitted before they
+// are inserted and handed to the engine only while it drives fewer than max-active-sagas;
+// the rest wait here in priority lanes, drained HIGH first. When the queue is full the
+// request is rejected straight away (429 with Retry-After) instead of being persisted
+// and left to pile up behind the engine.
+//
+// Lower lanes may only fill part of the queue (saga.intake.normal-share, low-share), so
+// a burst of low priority work can never lock out high priority sagas.
+//
+// Queued sagas are already committed, so one lost with its node is still picked up by
+// its partition's owner (SagaPartitionPoller). The poller hands such STARTED sagas back
+// here through recover(), so they too wait for engine capacity.
+@Component
+public class SagaIntake {
+
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    private record Entry(String sagaId, long enqueuedNanos) {
+    }
+
+    private final SagaExecutionEngine executionEngine;
+    private final int maxActiveSagas;
+    private final long retryAfterSeconds;
+    private final Map<Priority, Integer> laneLimits = new EnumMap<>(Priority.class);
+    private final Map<Priority, Deque<Entry>> lanes = new EnumMap<>(Priority.class);
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    // Admitted sagas not yet handed to the engine, including ones whose insert has not committed
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public SagaIntake(SagaExecutionEngine executionEngine, MeterRegistry meterRegistry,
+                      @Value("${saga.intake.queue-capacity:2000}") int capacity,
+                      @Value("${saga.intake.normal-share:0.8}") double normalShare,
+                      @Value("${saga.intake.low-share:0.5}") double lowShare,
+                      @Value("${saga.intake.max-active-sagas:256}") int maxActiveSagas,
+                      @Value("${saga.intake.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.executionEngine = executionEngine;
+        this.maxActiveSagas = maxActiveSagas;
+        this.retryAfterSeconds = retryAfterSeconds;
+        laneLimits.put(Priority.HIGH, capacity);
+        laneLimits.put(Priority.NORMAL, (int) (capacity * normalShare));
+        laneLimits.put(Priority.LOW, (int) (capacity * lowShare));
+
+        for (Priority priority : Priority.values()) {
+            Deque<Entry> lane = new ConcurrentLinkedDeque<>();
+            lanes.put(priority, lane);
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("saga.intake.depth", lane, Collection::size)
+                    .description("Sagas waiting in the intake queue for the engine")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("saga.intake.wait")
+                    .description("Time sagas spent in the intake queue before reaching the engine")
+                    .tag("priority", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("saga.intake.rejected")
+                    .description("Saga starts rejected because the intake queue was full")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Reserves room for count new sagas, or throws SagaIntakeRejectedException. Every
+    // reservation must end in enqueue or release.
+    public void admit(Priority priority, int count) {
+        int limit = laneLimits.get(priority);
+        while (true) {
+            int current = reserved.get();
+            if (current + count > limit) {
+                rejections.get(priority).increment(count);
+                throw new SagaIntakeRejectedException(priority, retryAfterSeconds);
+            }
+            if (reserved.compareAndSet(current, current + count)) {
+                return;
+            }
+        }
+    }
+
+    // Gives back reservations whose sagas were never created
+    public void release(int count) {
+        reserved.addAndGet(-count);
+    }
+
+    public void enqueue(Priority priority, Collection<String> sagaIds) {
+        long now = System.nanoTime();
+        Deque<Entry> lane = lanes.get(priority);
+        for (String sagaId : sagaIds) {
+            queued.add(sagaId);
+            lane.add(new Entry(sagaId, now));
+        }
+        dispatch();
+    }
+
+    // Queues a committed STARTED saga found by the poller: created on another node, or
+    // queued on a node that died. It is already persisted, so it is never rejected, and
+    // its original priority is unknown, so it waits in the NORMAL lane. Sagas queued or
+    // running here are left alone.
+    public void recover(String sagaId) {
+        if (queued.contains(sagaId) || executionEngine.isRunning(sagaId)) {
+            return;
+        }
+        reserved.incrementAndGet();
+        enqueue(Priority.NORMAL, List.of(sagaId));
+    }
+
+    // Runs on every enqueue; the schedule only moves sagas that waited for engine capacity
+    @Scheduled(fixedDelayString = "${saga.intake.dispatch-interval-ms:10}")
+    public void dispatch() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (executionEngine.getLoad() < maxActiveSagas) {
+                Priority priority = nextLane();
+                if (priority == null) {
+                    return;
+                }
+                Entry entry = lanes.get(priority).poll();
+                if (entry == null) {
+                    continue;
+                }
+                try {
+                    executionEngine.submit(entry.sagaId());
+                } catch (TaskRejectedException e) {
+                    // The worker pool is full; the saga keeps its place for the next dispatch
+                    lanes.get(priority).offerFirst(entry);
+                    return;
+                }
+                queued.remove(entry.sagaId());
+                reserved.decrementAndGet();
+                waitTimers.get(priority).record(System.nanoTime() - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    private Priority nextLane() {
+        for (Priority priority : Priority.values()) {
+            if (!lanes.get(priority).isEmpty()) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
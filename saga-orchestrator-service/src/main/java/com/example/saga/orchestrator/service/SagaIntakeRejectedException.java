@@ -0,0 +1,15 @@
+package com.example.saga.orchestrator.service;
+
+public class SagaIntakeRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SagaIntakeRejectedException(SagaIntake.Priority priority, long retryAfterSeconds) {
+        super("Saga intake is saturated for " + priority + " priority, retry after " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
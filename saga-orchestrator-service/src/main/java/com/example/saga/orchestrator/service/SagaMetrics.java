@@ -0,0 +1,121 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Saga-level meters, all tagged by saga_type so SLOs can be tracked per saga:
+//   saga.step.duration         step calls by step, participant, phase (execute/compensate) and outcome
+//   saga.duration              creation to terminal state, by terminal status (p50/p95/p99)
+//   saga.finished              sagas reaching a terminal status
+//   saga.compensation.duration compensations by outcome; its count is the compensation count
+//   saga.in-flight             sagas driven by this node, by current status
+//   saga.state.writes          events appended per saga execution
+@Component
+public class SagaMetrics {
+
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+    static final String RETRY = "retry";
+    static final String TIMED_OUT = "timed_out";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Called once by the engine with a view of its active runs
+    void registerInFlight(Supplier<Collection<SagaRun>> activeRuns) {
+        for (SagaTransaction.SagaStatus status : SagaTransaction.SagaStatus.values()) {
+            Gauge.builder("saga.in-flight", () -> activeRuns.get().stream()
+                            .filter(run -> run.getSaga().getStatus() == status)
+                            .count())
+                    .description("Sagas driven by this node, by current status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    void stepExecuted(SagaRun run, SagaStep step, String outcome, long elapsedNanos) {
+        recordStep(run, step, "execute", outcome, elapsedNanos);
+    }
+
+    void stepCompensated(SagaRun run, SagaStep step, String outcome, long elapsedNanos) {
+        recordStep(run, step, "compensate", outcome, elapsedNanos);
+    }
+
+    void compensationFinished(SagaRun run, String outcome, long elapsedNanos) {
+        Timer.builder("saga.compensation.duration")
+                .description("Time from the start of a saga's compensation to its end")
+                .tag("saga_type", sagaType(run))
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void sagaFinished(SagaRun run, SagaTransaction.SagaStatus status) {
+        String sagaType = sagaType(run);
+        Counter.builder("saga.finished")
+                .description("Sagas reaching a terminal status")
+                .tag("saga_type", sagaType)
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+
+        LocalDateTime createdAt = run.getSaga().getCreatedAt();
+        if (createdAt != null) {
+            Timer.builder("saga.duration")
+                    .description("Time from saga creation to its terminal status")
+                    .tag("saga_type", sagaType)
+                    .tag("status", status.name())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Duration.between(createdAt, LocalDateTime.now()));
+        }
+
+        // Events appended per saga execution, excluding the initial insert
+        DistributionSummary.builder("saga.state.writes")
+                .description("State-changing statements issued per saga execution")
+                .tag("outcome", status.name())
+                .register(meterRegistry)
+                .record(run.getAppendedEvents());
+    }
+
+    // elapsedNanos is negative when the step started before this run existed (a run rebuilt
+    // from the log); there is nothing meaningful to record then
+    private void recordStep(SagaRun run, SagaStep step, String phase, String outcome, long elapsedNanos) {
+        if (elapsedNanos < 0) {
+            return;
+        }
+        Timer.builder("saga.step.duration")
+                .description("Saga step calls to participants")
+                .tag("saga_type", sagaType(run))
+                .tag("step", step.getStepName())
+                .tag("participant", step.getServiceName())
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String sagaType(SagaRun run) {
+        return run.getSaga().getSagaType();
+    }
+}
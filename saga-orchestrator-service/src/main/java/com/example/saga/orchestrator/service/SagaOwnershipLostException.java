@@ -0,0 +1,8 @@
+package com.example.saga.orchestrator.service;
+
+public class SagaOwnershipLostException extends RuntimeException {
+
+    public SagaOwnershipLostException(String sagaId) {
+        super("Saga " + sagaId + " is driven by another node");
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.repository.SagaLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+// Shards saga ownership across orchestrator instances. Every saga belongs to partition
+// CRC32(sagaId) % saga.partitions.count, stored as saga_transactions.partition_no, and
+// each partition is driven by the node that holds its lease in saga_partition_leases.
+//
+// On every heartbeat a node computes the desired owner of each partition by rendezvous
+// hashing over the live nodes, releases partitions that now belong elsewhere, renews
+// the rest and acquires its desired partitions once they are free or expired. Joining
+// or leaving nodes therefore move only their share of partitions, and a dead node's
+// partitions are taken over when its leases run out.
+@Component
+public class SagaPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaPartitionManager.class);
+
+    @Autowired
+    private SagaLeaseRepository leaseRepository;
+
+    @Value("${saga.partitions.count:64}")
+    private int partitionCount;
+
+    @Value("${saga.partitions.lease-seconds:15}")
+    private long leaseSeconds;
+
+    private final String nodeId;
+
+    private volatile Set<Integer> ownedPartitions = Collections.emptySet();
+
+    // Local deadline for the current leases, so a node that cannot heartbeat stops
+    // driving sagas before another node may take them over
+    private volatile long ownedUntilMillis;
+
+    public SagaPartitionManager(@Value("${saga.node-id:}") String nodeId,
+                                @Value("${server.port:8080}") int serverPort) {
+        this.nodeId = nodeId.isBlank() ? defaultNodeId(serverPort) : nodeId;
+    }
+
+    // Stable across restarts, so a restarted node picks up its own reply consumer group
+    // and leases again: the pod name (HOSTNAME) or host name, plus the port so several
+    // instances on one host stay apart
+    private static String defaultNodeId(int serverPort) {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("Cannot derive a node id from the host name; set saga.node-id", e);
+            }
+        }
+        return host + ":" + serverPort;
+    }
+
+    @PostConstruct
+    public void init() {
+        leaseRepository.createPartitions(partitionCount);
+        int moved = leaseRepository.repartition(partitionCount, SagaPartitionPoller.UNFINISHED_STATUSES);
+        if (moved > 0) {
+            logger.info("Moved {} unfinished sagas to their partitions for a count of {}", moved, partitionCount);
+        }
+        heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${saga.partitions.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            leaseRepository.heartbeat(nodeId);
+
+            List<String> liveNodes = leaseRepository.findLiveNodes(leaseSeconds);
+            Set<Integer> desired = desiredPartitions(liveNodes);
+            Set<Integer> toRelease = new HashSet<>(ownedPartitions);
+            toRelease.removeAll(desired);
+
+            if (!toRelease.isEmpty()) {
+                leaseRepository.release(nodeId, toRelease);
+            }
+            leaseRepository.renew(nodeId, leaseSeconds);
+            leaseRepository.acquire(nodeId, desired, leaseSeconds);
+
+            Set<Integer> owned = leaseRepository.findOwnedPartitions(nodeId, partitionCount);
+            if (!owned.equals(ownedPartitions)) {
+                logger.info("Node {} now owns {} of {} saga partitions ({} live nodes)",
+                        nodeId, owned.size(), partitionCount, liveNodes.size());
+            }
+            ownedPartitions = Collections.unmodifiableSet(owned);
+            ownedUntilMillis = startedAt + leaseSeconds * 1000;
+
+            leaseRepository.removeDeadNodes(leaseSeconds * 10);
+        } catch (Exception e) {
+            logger.error("Saga partition heartbeat failed for node {}", nodeId, e);
+        }
+    }
+
+    // Hands partitions over immediately instead of waiting for the leases to expire
+    @PreDestroy
+    public void shutdown() {
+        ownedPartitions = Collections.emptySet();
+        try {
+            leaseRepository.releaseAll(nodeId);
+            leaseRepository.removeNode(nodeId);
+        } catch (Exception e) {
+            logger.warn("Failed to release saga partitions for node {}", nodeId, e);
+        }
+    }
+
+    public boolean owns(String sagaId) {
+        return System.currentTimeMillis() < ownedUntilMillis
+                && ownedPartitions.contains(partitionOf(sagaId));
+    }
+
+    public Set<Integer> getOwnedPartitions() {
+        return System.currentTimeMillis() < ownedUntilMillis ? ownedPartitions : Collections.emptySet();
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Matches MOD(CRC32(saga_id), count) in SQL, as used to backfill partition_no
+    public int partitionOf(String sagaId) {
+        CRC32 crc = new CRC32();
+        crc.update(sagaId.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % partitionCount);
+    }
+
+    private Set<Integer> desiredPartitions(List<String> liveNodes) {
+        Set<Integer> desired = new HashSet<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            String owner = null;
+            int bestScore = 0;
+            for (String node : liveNodes) {
+                int score = mix((node + "#" + partition).hashCode());
+                if (owner == null || score > bestScore) {
+                    owner = node;
+                    bestScore = score;
+                }
+            }
+            if (nodeId.equals(owner)) {
+                desired.add(partition);
+            }
+        }
+        return desired;
+    }
+
+    // Murmur3 finalizer; spreads the similar hash codes of "node#partition" keys
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
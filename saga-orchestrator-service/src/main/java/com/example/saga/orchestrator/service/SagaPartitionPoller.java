@@ -0,0 +1,72 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.repository.SagaTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+// Hands every unfinished saga in this node's partitions to the engine. The engine skips
+// sagas it is already driving, so this only starts sagas created on other nodes,
+// retries and compensations requested through other nodes, and sagas whose partition
+// was just taken over.
+//
+// STARTED sagas have never run, so they go through SagaIntake like any new saga and
+// respect max-active-sagas; ones already queued here are skipped.
+@Component
+public class SagaPartitionPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaPartitionPoller.class);
+
+    static final List<String> UNFINISHED_STATUSES = List.of(
+            SagaTransaction.SagaStatus.STARTED.name(),
+            SagaTransaction.SagaStatus.IN_PROGRESS.name(),
+            SagaTransaction.SagaStatus.COMPENSATING.name());
+
+    @Autowired
+    private SagaPartitionManager partitionManager;
+
+    @Autowired
+    private SagaTransactionRepository sagaRepository;
+
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+
+    @Autowired
+    private SagaIntake intake;
+
+    @Value("${saga.partitions.poll-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${saga.partitions.poll-interval-ms:1000}")
+    public void pollOwnedSagas() {
+        Set<Integer> partitions = partitionManager.getOwnedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        try {
+            long afterId = 0;
+            List<SagaTransactionRepository.SagaRef> page;
+            do {
+                page = sagaRepository.findSagasInPartitions(UNFINISHED_STATUSES, partitions, afterId, batchSize);
+                for (SagaTransactionRepository.SagaRef saga : page) {
+                    if (SagaTransaction.SagaStatus.STARTED.name().equals(saga.getStatus())) {
+                        intake.recover(saga.getSagaId());
+                    } else {
+                        executionEngine.resume(saga.getSagaId());
+                    }
+                    afterId = saga.getId();
+                }
+            } while (page.size() == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to poll owned saga partitions", e);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.model.SagaProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Server-sent progress streams, so clients follow sagas instead of polling their status.
+// A stream starts with each saga's current state and then gets the state after every
+// committed event, ending once all of its sagas are terminal.
+//
+// Streams are servlet async requests and hold no thread while idle. Writes happen on
+// sagaStreamExecutor, never on engine threads: each stream keeps only the newest state
+// per saga that it has not written yet, so a slow client gets fewer, later updates
+// instead of a growing backlog, and one the pool cannot keep up with is disconnected
+// (EventSource clients reconnect and start again from the current state).
+//
+// Progress is published on Redis (saga:progress:<sagaId>) for streams held by other
+// nodes than the one driving the saga. Redis is optional here as well: while it is
+// unreachable such streams miss updates until the client reconnects, which starts
+// again from the current state.
+@Service
+public class SagaProgressStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaProgressStreams.class);
+
+    private static final String CHANNEL_PREFIX = "saga:progress:";
+
+    // The local streams following one saga
+    private static final class Followers {
+        final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    }
+
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TaskExecutor streamExecutor;
+    private final ObjectWriter progressWriter;
+    private final ObjectReader progressReader;
+    private final Counter disconnects;
+    private final MessageListener relayListener = this::onRelayed;
+
+    private final Map<String, Followers> followers = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    @Value("${saga.stream.timeout-seconds:600}")
+    private long timeoutSeconds;
+
+    @Value("${saga.stream.max-streams:10000}")
+    private int maxStreams;
+
+    @Value("${saga.stream.max-sagas-per-stream:100}")
+    private int maxSagasPerStream;
+
+    @Value("${saga.stream.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${saga.stream.failure-backoff-ms:5000}")
+    private long failureBackoffMillis;
+
+    private volatile long relayBypassUntil;
+
+    public SagaProgressStreams(OrderSagaOrchestrator sagaOrchestrator, StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Qualifier("sagaStreamExecutor") TaskExecutor streamExecutor,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.streamExecutor = streamExecutor;
+        this.progressWriter = objectMapper.writerFor(SagaProgress.class);
+        this.progressReader = objectMapper.readerFor(SagaProgress.class);
+        this.disconnects = Counter.builder("saga.stream.disconnected")
+                .description("Progress streams closed because their updates could not be scheduled")
+                .register(meterRegistry);
+        Gauge.builder("saga.stream.open", openStreams, AtomicInteger::get)
+                .description("Open saga progress streams on this node")
+                .register(meterRegistry);
+    }
+
+    // Throws IllegalArgumentException for an empty or oversized id list, SagaStreamLimitException
+    // when this node already holds max-streams, and whatever loading an unknown saga throws
+    public SseEmitter subscribe(List<String> sagaIds) {
+        Set<String> ids = new LinkedHashSet<>(sagaIds);
+        if (ids.isEmpty() || ids.size() > maxSagasPerStream) {
+            throw new IllegalArgumentException("A stream must follow between 1 and " + maxSagasPerStream + " sagas");
+        }
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new SagaStreamLimitException(maxStreams);
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        Subscription subscription = new Subscription(emitter, ids);
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onError(e -> close(subscription));
+
+        // Followed before the current state is read, so no event can fall in between;
+        // whichever of the two arrives later is dropped by its sequence number
+        for (String sagaId : ids) {
+            follow(sagaId, subscription);
+        }
+        try {
+            for (String sagaId : ids) {
+                subscription.offer(SagaProgress.of(sagaOrchestrator.getSagaStatus(sagaId), SagaProgress.SNAPSHOT));
+            }
+        } catch (RuntimeException e) {
+            close(subscription);
+            throw e;
+        }
+        return emitter;
+    }
+
+    // Published by SagaStateStore after each of this node's events commits
+    @EventListener
+    public void onProgress(SagaProgress progress) {
+        deliver(progress);
+        if (relayEnabled && relayAvailable()) {
+            try {
+                redisTemplate.convertAndSend(CHANNEL_PREFIX + progress.getSagaId(),
+                        progressWriter.writeValueAsString(progress));
+            } catch (Exception e) {
+                onRelayFailure("publish", progress.getSagaId(), e);
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies. Only an SSE comment, written on
+    // sagaStreamExecutor; saga state is read once per stream, when it subscribes.
+    @Scheduled(fixedDelayString = "${saga.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Set<Subscription> subscriptions = new HashSet<>();
+        followers.values().forEach(entry -> subscriptions.addAll(entry.subscriptions));
+        subscriptions.forEach(Subscription::ping);
+    }
+
+    private void deliver(SagaProgress progress) {
+        Followers entry = followers.get(progress.getSagaId());
+        if (entry == null) {
+            return;
+        }
+        for (Subscription subscription : entry.subscriptions) {
+            subscription.offer(progress);
+        }
+    }
+
+    // Progress of sagas driven on other nodes; this node's own comes back too and is
+    // dropped as already delivered
+    private void onRelayed(Message message, byte[] pattern) {
+        try {
+            deliver(progressReader.readValue(message.getBody()));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable saga progress on {}: {}", new String(message.getChannel()), e.getMessage());
+        }
+    }
+
+    private void follow(String sagaId, Subscription subscription) {
+        followers.compute(sagaId, (id, entry) -> {
+            if (entry == null) {
+                entry = new Followers();
+                listen(id);
+            }
+            entry.subscriptions.add(subscription);
+            return entry;
+        });
+    }
+
+    private void unfollow(String sagaId, Subscription subscription) {
+        followers.computeIfPresent(sagaId, (id, entry) -> {
+            entry.subscriptions.remove(subscription);
+            if (entry.subscriptions.isEmpty()) {
+                unlisten(id);
+                return null;
+            }
+            return entry;
+        });
+    }
+
+    private void listen(String sagaId) {
+        if (relayEnabled && relayAvailable()) {
+            try {
+                listenerContainer.addMessageListener(relayListener, new ChannelTopic(CHANNEL_PREFIX + sagaId));
+            } catch (Exception e) {
+                onRelayFailure("subscribe", sagaId, e);
+            }
+        }
+    }
+
+    private void unlisten(String sagaId) {
+        if (relayEnabled) {
+            try {
+                listenerContainer.removeMessageListener(relayListener, new ChannelTopic(CHANNEL_PREFIX + sagaId));
+            } catch (Exception e) {
+                onRelayFailure("unsubscribe", sagaId, e);
+            }
+        }
+    }
+
+    private void close(Subscription subscription) {
+        if (subscription.markClosed()) {
+            openStreams.decrementAndGet();
+            for (String sagaId : subscription.sagaIds) {
+                unfollow(sagaId, subscription);
+            }
+        }
+    }
+
+    private boolean relayAvailable() {
+        return System.currentTimeMillis() >= relayBypassUntil;
+    }
+
+    private void onRelayFailure(String operation, String sagaId, Exception e) {
+        relayBypassUntil = System.currentTimeMillis() + failureBackoffMillis;
+        logger.warn("Saga progress relay {} failed for saga {}, bypassing Redis for {} ms: {}",
+                operation, sagaId, failureBackoffMillis, e.getMessage());
+    }
+
+    // One client connection following one or more sagas
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<String> sagaIds;
+
+        // Guarded by this
+        private final Map<String, SagaProgress> pending = new LinkedHashMap<>();
+        private final Map<String, Integer> sentSeqs = new HashMap<>();
+        private final Set<String> finished = new HashSet<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(SseEmitter emitter, Set<String> sagaIds) {
+            this.emitter = emitter;
+            this.sagaIds = sagaIds;
+        }
+
+        void offer(SagaProgress progress) {
+            synchronized (this) {
+                if (closed || !isNewer(progress)) {
+                    return;
+                }
+                // Replaces any state of this saga that has not been written yet
+                pending.put(progress.getSagaId(), progress);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule(this::drain);
+        }
+
+        void ping() {
+            schedule(() -> {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    close(this);
+                }
+            });
+        }
+
+        synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+            return true;
+        }
+
+        private boolean isNewer(SagaProgress progress) {
+            SagaProgress queued = pending.get(progress.getSagaId());
+            if (queued != null) {
+                return progress.getSeq() > queued.getSeq();
+            }
+            Integer sent = sentSeqs.get(progress.getSagaId());
+            return sent == null || progress.getSeq() > sent;
+        }
+
+        private void drain() {
+            while (true) {
+                List<SagaProgress> batch;
+                boolean done;
+                synchronized (this) {
+                    if (closed || pending.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    for (SagaProgress progress : batch) {
+                        sentSeqs.put(progress.getSagaId(), progress.getSeq());
+                        if (progress.isFinished()) {
+                            finished.add(progress.getSagaId());
+                        }
+                    }
+                    done = finished.size() == sagaIds.size();
+                }
+
+                try {
+                    for (SagaProgress progress : batch) {
+                        emitter.send(SseEmitter.event()
+                                .name("progress")
+                                .id(progress.getSagaId() + ":" + progress.getSeq())
+                                .data(progress, MediaType.APPLICATION_JSON));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client has gone away; the container completes the request
+                    logger.debug("Saga progress stream for {} closed: {}", sagaIds, e.getMessage());
+                    close(this);
+                    return;
+                }
+
+                if (done) {
+                    emitter.complete();
+                    close(this);
+                    return;
+                }
+            }
+        }
+
+        private void schedule(Runnable task) {
+            try {
+                streamExecutor.execute(task);
+            } catch (TaskRejectedException e) {
+                disconnects.increment();
+                logger.warn("Saga progress stream for {} cannot keep up, disconnecting", sagaIds);
+                close(this);
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.saga.orchestrator.service;
+
+import feign.FeignException;
+import feign.RetryableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+// Decides which step failures are worth retrying and when. Transient failures are
+// connection problems, timeouts and the "try again later" statuses (429, 502, 503, 504,
+// e.g. FeignErrorDecoder.FeignServiceUnavailableException); anything else is a real
+// rejection by the participant and goes straight to compensation.
+@Component
+public class SagaRetryPolicy {
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(429, 502, 503, 504);
+
+    @Value("${saga.retry.base-delay-ms:1000}")
+    private long baseDelayMillis;
+
+    @Value("${saga.retry.max-delay-ms:60000}")
+    private long maxDelayMillis;
+
+    public boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetryableException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof ConnectException
+                    || cause instanceof TimeoutException
+                    || cause instanceof org.apache.kafka.common.errors.RetriableException) {
+                return true;
+            }
+            if (cause instanceof FeignException feignException) {
+                return TRANSIENT_STATUSES.contains(feignException.status());
+            }
+        }
+        return false;
+    }
+
+    // Exponential backoff with equal jitter: half the delay is fixed, half random, so
+    // steps parked by the same outage do not all come back in the same instant
+    public long backoffMillis(int attempt) {
+        long exponential = baseDelayMillis << Math.min(attempt - 1, 20);
+        long delay = Math.min(maxDelayMillis, exponential);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
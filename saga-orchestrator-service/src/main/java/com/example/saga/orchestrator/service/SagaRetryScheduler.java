@@ -0,0 +1,60 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.repository.SagaRetryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+// Releases parked steps of owned sagas once their due time has passed
+@Component
+public class SagaRetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaRetryScheduler.class);
+
+    @Autowired
+    private SagaRetryRepository retryRepository;
+
+    @Autowired
+    private SagaPartitionManager partitionManager;
+
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+
+    @Value("${saga.retry.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${saga.retry.poll-interval-ms:1000}")
+    public void releaseDueRetries() {
+        Set<Integer> partitions = partitionManager.getOwnedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<SagaRetryRepository.DueRetry> due;
+            do {
+                due = retryRepository.findDue(partitions, batchSize);
+                for (SagaRetryRepository.DueRetry retry : due) {
+                    if (retryRepository.claim(retry.id())) {
+                        try {
+                            executionEngine.retryStep(retry.sagaId(), retry.stepNumber());
+                        } catch (TaskRejectedException e) {
+                            // The worker pool is full; put the retry back and try again next poll
+                            retryRepository.schedule(retry.sagaId(), retry.stepNumber(), retry.attempt(), 0);
+                            return;
+                        }
+                    }
+                }
+            } while (due.size() == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to release due saga step retries", e);
+        }
+    }
+}
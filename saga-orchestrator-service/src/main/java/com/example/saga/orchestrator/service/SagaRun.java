@@ -0,0 +1,173 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+
+import java.util.*;
+
+// In-memory bookkeeping for one saga execution on this node: which steps are done,
+// which are in flight and which have become runnable. All methods are synchronized
+// because step completions arrive concurrently from different worker threads.
+class SagaRun {
+
+    enum Outcome {
+        DISPATCH,
+        WAIT,
+        COMPLETE,
+        COMPENSATE
+    }
+
+    private final String sagaId;
+    private final SagaTransaction saga;
+    private final SagaStepGraph graph;
+    private final Map<String, SagaStep> steps = new LinkedHashMap<>();
+    private final Set<String> completed = new HashSet<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final Set<String> awaitingReply = new HashSet<>();
+    private final Set<String> parked = new HashSet<>();
+    private final Map<String, Long> stepStartNanos = new HashMap<>();
+    private final int startSeq;
+    private int seq;
+    private boolean failed;
+    private volatile boolean abandoned;
+
+    SagaRun(SagaTransaction saga, SagaStepGraph graph) {
+        this.sagaId = saga.getSagaId();
+        this.saga = saga;
+        this.graph = graph;
+        this.startSeq = saga.getEventSeq();
+        this.seq = startSeq;
+        for (String stepName : graph.topologicalOrder()) {
+            saga.getSteps().stream()
+                    .filter(step -> step.getStepName().equals(stepName))
+                    .findFirst()
+                    .ifPresent(step -> steps.put(stepName, step));
+        }
+        steps.values().stream()
+                .filter(step -> step.getStatus() == SagaStep.StepStatus.COMPLETED)
+                .forEach(step -> completed.add(step.getStepName()));
+    }
+
+    String getSagaId() {
+        return sagaId;
+    }
+
+    // The state this run started from, kept current by SagaStatusCache as events commit
+    SagaTransaction getSaga() {
+        return saga;
+    }
+
+    SagaStepGraph getGraph() {
+        return graph;
+    }
+
+    SagaStep getStep(String stepName) {
+        return steps.get(stepName);
+    }
+
+    // Per-saga event sequence; this run is the only writer while it is active
+    synchronized int nextSeq() {
+        return ++seq;
+    }
+
+    synchronized int getAppendedEvents() {
+        return seq - startSeq;
+    }
+
+    synchronized boolean isFinished() {
+        return completed.size() == steps.size();
+    }
+
+    // Returns the steps whose dependencies have all completed and marks them in flight
+    synchronized List<SagaStep> claimReadySteps() {
+        if (failed || abandoned) {
+            return Collections.emptyList();
+        }
+        List<SagaStep> ready = new ArrayList<>();
+        for (SagaStep step : steps.values()) {
+            String name = step.getStepName();
+            if (!completed.contains(name) && !inFlight.contains(name) && !parked.contains(name)
+                    && completed.containsAll(graph.dependenciesOf(name))) {
+                inFlight.add(name);
+                ready.add(step);
+            }
+        }
+        return ready;
+    }
+
+    private Optional<SagaStep> findStep(int stepNumber) {
+        return steps.values().stream()
+                .filter(step -> step.getStepNumber() == stepNumber)
+                .findFirst();
+    }
+
+    // Set when another node took over the saga; the run must not write any further
+    void abandon() {
+        abandoned = true;
+    }
+
+    boolean isAbandoned() {
+        return abandoned;
+    }
+
+    // Step timing for SagaMetrics, from dispatch to the step's result
+    synchronized void stepStarted(SagaStep step) {
+        stepStartNanos.put(step.getStepName(), System.nanoTime());
+    }
+
+    // -1 when this run did not dispatch the step
+    synchronized long stepElapsedNanos(SagaStep step) {
+        Long start = stepStartNanos.remove(step.getStepName());
+        return start != null ? System.nanoTime() - start : -1;
+    }
+
+    // Kafka steps: the command is out and the step now waits for its reply event
+    synchronized void awaitReply(SagaStep step) {
+        awaitingReply.add(step.getStepName());
+    }
+
+    // Rebuilding a run from the log: steps already started are in flight awaiting replies
+    synchronized void resumeAwaitingReply(SagaStep step) {
+        inFlight.add(step.getStepName());
+        awaitingReply.add(step.getStepName());
+    }
+
+    // True exactly once per awaited step, so redelivered replies are ignored
+    synchronized boolean takeReply(SagaStep step) {
+        return awaitingReply.remove(step.getStepName());
+    }
+
+    // The step failed transiently and waits for its retry instead of failing the saga
+    synchronized Outcome onStepParked(SagaStep step) {
+        inFlight.remove(step.getStepName());
+        parked.add(step.getStepName());
+        // A sibling may have failed meanwhile; compensation no longer waits for this step
+        return failed && inFlight.isEmpty() ? Outcome.COMPENSATE : Outcome.WAIT;
+    }
+
+    synchronized void park(int stepNumber) {
+        findStep(stepNumber).ifPresent(step -> parked.add(step.getStepName()));
+    }
+
+    synchronized void unpark(int stepNumber) {
+        findStep(stepNumber).ifPresent(step -> parked.remove(step.getStepName()));
+    }
+
+    synchronized Outcome onStepFinished(SagaStep step, boolean success) {
+        inFlight.remove(step.getStepName());
+        if (success) {
+            completed.add(step.getStepName());
+        } else {
+            failed = true;
+        }
+
+        if (failed) {
+            // Siblings still running must settle before compensation, or it would miss them
+            return inFlight.isEmpty() ? Outcome.COMPENSATE : Outcome.WAIT;
+        }
+        if (isFinished()) {
+            return Outcome.COMPLETE;
+        }
+        return Outcome.DISPATCH;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaEvent;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.repository.SagaEventRepository;
+import com.example.saga.orchestrator.repository.SagaTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Folds the tail of a saga's event log into its saga_transactions / saga_steps rows.
+// Runs off the engine's hot path; the rows are a read model and recovery starting point,
+// never the source of truth.
+@Service
+public class SagaSnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaSnapshotter.class);
+
+    @Autowired
+    @Qualifier("sagaSnapshotExecutor")
+    private TaskExecutor snapshotExecutor;
+
+    @Autowired
+    private SagaTransactionRepository sagaRepository;
+
+    @Autowired
+    private SagaEventRepository eventRepository;
+
+    @Autowired
+    private SagaStateFolder folder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${saga.snapshot.gap-timeout-seconds:30}")
+    private long gapTimeoutSeconds;
+
+    // Requests made while the snapshot pool is full are retried from here
+    private final Set<String> deferred = ConcurrentHashMap.newKeySet();
+
+    public void requestSnapshot(String sagaId) {
+        if (!trySubmit(sagaId)) {
+            deferred.add(sagaId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${saga.snapshot.retry-interval-ms:1000}")
+    public void retryDeferred() {
+        for (Iterator<String> it = deferred.iterator(); it.hasNext(); ) {
+            String sagaId = it.next();
+            if (!trySubmit(sagaId)) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private boolean trySubmit(String sagaId) {
+        try {
+            snapshotExecutor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> snapshot(sagaId));
+                } catch (Exception e) {
+                    logger.warn("Failed to snapshot saga {}", sagaId, e);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    private void snapshot(String sagaId) {
+        SagaTransaction saga = sagaRepository.findForUpdateBySagaId(sagaId)
+                .orElseThrow(() -> new RuntimeException("Saga not found: " + sagaId));
+        List<SagaEvent> events = eventRepository.findBySagaIdAndSeqGreaterThanOrderBySeqAsc(
+                sagaId, saga.getEventSeq());
+
+        // Sequence numbers are assigned before commit, so a later event can become visible
+        // before an earlier one. Only a contiguous prefix is folded unless the gap is old
+        // enough that its append must have been rolled back.
+        LocalDateTime gapCutoff = LocalDateTime.now().minusSeconds(gapTimeoutSeconds);
+        int folded = 0;
+        for (SagaEvent event : events) {
+            if (event.getSeq() != saga.getEventSeq() + 1 && event.getCreatedAt().isAfter(gapCutoff)) {
+                break;
+            }
+            folder.apply(saga, event);
+            folded++;
+        }
+
+        if (folded > 0) {
+            logger.debug("Snapshot of saga {} advanced to seq {}", sagaId, saga.getEventSeq());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaEvent;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Folds saga events onto a SagaTransaction. Every event sets absolute values (a status,
+// a payload, a count derived from the steps), so folding is deterministic regardless
+// of whether it starts from the creation row or from a later snapshot.
+@Component
+public class SagaStateFolder {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record EventData(Integer stepNumber, List<Integer> stepNumbers, String payload, String errorMessage,
+                            Integer retryCount) {
+
+        static EventData empty() {
+            return new EventData(null, null, null, null, null);
+        }
+
+        static EventData step(int stepNumber) {
+            return new EventData(stepNumber, null, null, null, null);
+        }
+
+        static EventData steps(List<Integer> stepNumbers) {
+            return new EventData(null, stepNumbers, null, null, null);
+        }
+
+        static EventData stepPayload(int stepNumber, String payload) {
+            return new EventData(stepNumber, null, payload, null, null);
+        }
+
+        static EventData stepError(int stepNumber, String errorMessage) {
+            return new EventData(stepNumber, null, null, errorMessage, null);
+        }
+
+        static EventData stepRetry(int stepNumber, int retryCount, String errorMessage) {
+            return new EventData(stepNumber, null, null, errorMessage, retryCount);
+        }
+
+        static EventData error(String errorMessage) {
+            return new EventData(null, null, null, errorMessage, null);
+        }
+    }
+
+    private final ObjectWriter eventDataWriter;
+    private final ObjectReader eventDataReader;
+
+    public SagaStateFolder(ObjectMapper objectMapper) {
+        this.eventDataWriter = objectMapper.writerFor(EventData.class);
+        this.eventDataReader = objectMapper.readerFor(EventData.class);
+    }
+
+    public String write(EventData data) {
+        try {
+            return eventDataWriter.writeValueAsString(data);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize saga event data", e);
+        }
+    }
+
+    public void apply(SagaTransaction saga, SagaEvent event) {
+        EventData data = read(event);
+        LocalDateTime at = event.getCreatedAt();
+
+        switch (event.getEventType()) {
+            case EXECUTION_STARTED:
+                saga.setStatus(SagaTransaction.SagaStatus.IN_PROGRESS);
+                break;
+            case RETRY_REQUESTED:
+                saga.setStatus(SagaTransaction.SagaStatus.IN_PROGRESS);
+                saga.setErrorMessage(null);
+                saga.setRetryRound(saga.getRetryRound() + 1);
+                break;
+            case STEPS_STARTED:
+                for (Integer stepNumber : data.stepNumbers()) {
+                    SagaStep step = findStep(saga, stepNumber);
+                    step.setStatus(SagaStep.StepStatus.EXECUTING);
+                    step.setStartedAt(at);
+                    step.setErrorMessage(null);
+                }
+                break;
+            case STEP_COMPLETED: {
+                SagaStep step = findStep(saga, data.stepNumber());
+                step.setStatus(SagaStep.StepStatus.COMPLETED);
+                step.setResponsePayload(data.payload());
+                step.setCompletedAt(at);
+                saga.setCurrentStep((int) saga.getSteps().stream()
+                        .filter(s -> s.getStatus() == SagaStep.StepStatus.COMPLETED)
+                        .count());
+                break;
+            }
+            case STEP_FAILED: {
+                SagaStep step = findStep(saga, data.stepNumber());
+                step.setStatus(SagaStep.StepStatus.FAILED);
+                step.setErrorMessage(data.errorMessage());
+                step.setCompletedAt(at);
+                break;
+            }
+            case STEP_RETRY_SCHEDULED: {
+                SagaStep step = findStep(saga, data.stepNumber());
+                step.setStatus(SagaStep.StepStatus.PENDING);
+                step.setRetryCount(data.retryCount());
+                step.setErrorMessage(data.errorMessage());
+                break;
+            }
+            case SAGA_COMPLETED:
+                saga.setStatus(SagaTransaction.SagaStatus.COMPLETED);
+                saga.setCompletedAt(at);
+                break;
+            case COMPENSATION_STARTED:
+                saga.setStatus(SagaTransaction.SagaStatus.COMPENSATING);
+                break;
+            case STEP_COMPENSATING: {
+                SagaStep step = findStep(saga, data.stepNumber());
+                step.setStatus(SagaStep.StepStatus.COMPENSATING);
+                step.setCompensationData(data.payload());
+                step.setStartedAt(at);
+                break;
+            }
+            case STEP_COMPENSATED: {
+                SagaStep step = findStep(saga, data.stepNumber());
+                step.setStatus(SagaStep.StepStatus.COMPENSATED);
+                step.setCompletedAt(at);
+                break;
+            }
+            case SAGA_COMPENSATED:
+                saga.setStatus(SagaTransaction.SagaStatus.COMPENSATED);
+                break;
+            case SAGA_FAILED:
+                saga.setStatus(SagaTransaction.SagaStatus.FAILED);
+                saga.setErrorMessage(data.errorMessage());
+                saga.setCompletedAt(at);
+                break;
+        }
+
+        saga.setUpdatedAt(at);
+        saga.setEventSeq(Math.max(saga.getEventSeq(), event.getSeq()));
+    }
+
+    private EventData read(SagaEvent event) {
+        try {
+            return eventDataReader.readValue(event.getEventData());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read saga event " + event.getSagaId() + "#" + event.getSeq(), e);
+        }
+    }
+
+    private SagaStep findStep(SagaTransaction saga, int stepNumber) {
+        return saga.getSteps().stream()
+                .filter(step -> step.getStepNumber() == stepNumber)
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(
+                        "Step " + stepNumber + " not found for saga " + saga.getSagaId()));
+    }
+}
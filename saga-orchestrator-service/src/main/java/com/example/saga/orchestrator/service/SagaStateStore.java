@@ -0,0 +1,184 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaEvent;
+import com.example.saga.orchestrator.entity.SagaEvent.EventType;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.repository.SagaEventRepository;
+import com.example.saga.orchestrator.repository.SagaRetryRepository;
+import com.example.saga.orchestrator.repository.SagaTransactionRepository;
+import com.example.saga.orchestrator.service.SagaStateFolder.EventData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Saga state is an append-only event log (saga_events). Every transition is a single
+// INSERT in its own short transaction, so the engine never holds a database connection
+// across a downstream call and never rewrites JSON columns in place.
+//
+// saga_transactions / saga_steps hold periodic snapshots of the folded log: current
+// state is always snapshot + the events after its event_seq.
+@Service
+@Transactional
+public class SagaStateStore {
+
+    @Autowired
+    private SagaTransactionRepository sagaRepository;
+
+    @Autowired
+    private SagaEventRepository eventRepository;
+
+    @Autowired
+    private SagaRetryRepository retryRepository;
+
+    @Autowired
+    private SagaStateFolder folder;
+
+    @Autowired
+    private SagaSnapshotter snapshotter;
+
+    @Autowired
+    private SagaStatusCache statusCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${saga.snapshot.interval:8}")
+    private int snapshotInterval;
+
+    // Returns the current state of the saga, folded from its snapshot and the events
+    // appended after it. The returned entity is detached and safe to modify.
+    @Transactional(readOnly = true)
+    public SagaTransaction load(String sagaId) {
+        SagaTransaction saga = sagaRepository.findWithStepsBySagaId(sagaId)
+                .orElseThrow(() -> new RuntimeException("Saga not found: " + sagaId));
+        entityManager.detach(saga);
+
+        for (SagaEvent event : eventRepository.findBySagaIdAndSeqGreaterThanOrderBySeqAsc(sagaId, saga.getEventSeq())) {
+            folder.apply(saga, event);
+        }
+        return saga;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SagaEvent> history(String sagaId) {
+        return eventRepository.findBySagaIdOrderBySeqAsc(sagaId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Integer> parkedSteps(String sagaId) {
+        return retryRepository.findStepNumbers(sagaId);
+    }
+
+    public void startExecution(SagaRun run) {
+        append(run, EventType.EXECUTION_STARTED, EventData.empty());
+    }
+
+    // Requests from the API are appended on whichever node received them; the saga's
+    // owner picks them up from the snapshot, so they are snapshotted right away
+    public void requestRetry(SagaTransaction saga) {
+        append(saga.getSagaId(), saga.getEventSeq() + 1, EventType.RETRY_REQUESTED, EventData.empty(), true);
+        afterCommit(() -> statusCache.evict(saga.getSagaId()));
+    }
+
+    public void requestCompensation(SagaTransaction saga) {
+        append(saga.getSagaId(), saga.getEventSeq() + 1, EventType.COMPENSATION_STARTED, EventData.empty(), true);
+        afterCommit(() -> statusCache.evict(saga.getSagaId()));
+    }
+
+    // Steps released together by the same completion are recorded as one event
+    public void startSteps(SagaRun run, List<SagaStep> steps) {
+        if (!steps.isEmpty()) {
+            append(run, EventType.STEPS_STARTED,
+                    EventData.steps(steps.stream().map(SagaStep::getStepNumber).toList()));
+        }
+    }
+
+    public void completeStep(SagaRun run, SagaStep step, String responsePayload) {
+        append(run, EventType.STEP_COMPLETED, EventData.stepPayload(step.getStepNumber(), responsePayload));
+    }
+
+    public void failStep(SagaRun run, SagaStep step, String errorMessage) {
+        append(run, EventType.STEP_FAILED, EventData.stepError(step.getStepNumber(), errorMessage));
+    }
+
+    // Parks the step after a transient failure; SagaRetryScheduler releases it at its due time
+    public void scheduleStepRetry(SagaRun run, SagaStep step, String errorMessage, long delayMillis) {
+        append(run, EventType.STEP_RETRY_SCHEDULED,
+                EventData.stepRetry(step.getStepNumber(), step.getRetryCount(), errorMessage));
+        retryRepository.schedule(run.getSagaId(), step.getStepNumber(), step.getRetryCount(), delayMillis);
+    }
+
+    public void completeSaga(SagaRun run) {
+        append(run, EventType.SAGA_COMPLETED, EventData.empty());
+        retryRepository.deleteBySagaId(run.getSagaId());
+    }
+
+    public void beginCompensation(SagaRun run) {
+        append(run, EventType.COMPENSATION_STARTED, EventData.empty());
+        retryRepository.deleteBySagaId(run.getSagaId());
+    }
+
+    public void startStepCompensation(SagaRun run, SagaStep step, String compensationData) {
+        append(run, EventType.STEP_COMPENSATING, EventData.stepPayload(step.getStepNumber(), compensationData));
+    }
+
+    public void stepCompensated(SagaRun run, SagaStep step) {
+        append(run, EventType.STEP_COMPENSATED, EventData.step(step.getStepNumber()));
+    }
+
+    public void finishCompensation(SagaRun run) {
+        append(run, EventType.SAGA_COMPENSATED, EventData.empty());
+    }
+
+    public void failSaga(SagaRun run, String errorMessage) {
+        append(run, EventType.SAGA_FAILED, EventData.error(errorMessage));
+        retryRepository.deleteBySagaId(run.getSagaId());
+    }
+
+    private void append(SagaRun run, EventType type, EventData data) {
+        if (run.isAbandoned()) {
+            throw new SagaOwnershipLostException(run.getSagaId());
+        }
+        try {
+            SagaEvent event = append(run.getSagaId(), run.nextSeq(), type, data, false);
+            afterCommit(() -> eventPublisher.publishEvent(statusCache.writeThrough(run, event)));
+        } catch (DataIntegrityViolationException e) {
+            // Someone else appended this seq: the saga is being driven elsewhere
+            run.abandon();
+            throw new SagaOwnershipLostException(run.getSagaId());
+        }
+    }
+
+    private SagaEvent append(String sagaId, int seq, EventType type, EventData data, boolean snapshotNow) {
+        SagaEvent event = eventRepository.save(new SagaEvent(sagaId, seq, type, folder.write(data)));
+
+        // Terminal sagas are snapshotted right away so list/archival queries see them;
+        // long-running ones every snapshotInterval events to keep folds short
+        if (snapshotNow || event.isTerminal() || seq % snapshotInterval == 0) {
+            afterCommit(() -> snapshotter.requestSnapshot(sagaId));
+        }
+        return event;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
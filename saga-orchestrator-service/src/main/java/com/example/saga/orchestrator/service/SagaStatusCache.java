@@ -0,0 +1,150 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaEvent;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.model.SagaProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Redis copy of folded saga state for status polling. The owning engine writes it through
+// after every committed event, so a poll never has to fold the log in MySQL.
+//
+// Each entry carries the event_seq it reflects and a write never replaces a newer one,
+// so a slow writer (or a previous owner of the saga) cannot roll the status back.
+// Redis is strictly optional: any failure is counted, the cache is bypassed for a
+// short back-off and callers fall back to the database.
+@Service
+public class SagaStatusCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaStatusCache.class);
+
+    private static final String KEY_PREFIX = "saga:status:";
+
+    private static final Set<SagaTransaction.SagaStatus> TERMINAL_STATUSES = EnumSet.of(
+            SagaTransaction.SagaStatus.COMPLETED,
+            SagaTransaction.SagaStatus.COMPENSATED,
+            SagaTransaction.SagaStatus.FAILED);
+
+    // KEYS[1] = entry, ARGV = seq, state, ttl millis
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'seq') " +
+            "if current and tonumber(current) > tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'seq', ARGV[1], 'state', ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SagaStateFolder folder;
+    private final ObjectWriter sagaWriter;
+    private final ObjectReader sagaReader;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    @Value("${saga.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${saga.cache.in-flight-ttl-seconds:30}")
+    private long inFlightTtlSeconds;
+
+    @Value("${saga.cache.terminal-ttl-seconds:3600}")
+    private long terminalTtlSeconds;
+
+    @Value("${saga.cache.failure-backoff-ms:5000}")
+    private long failureBackoffMillis;
+
+    private volatile long bypassUntil;
+
+    public SagaStatusCache(StringRedisTemplate redisTemplate, SagaStateFolder folder,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.folder = folder;
+        this.sagaWriter = objectMapper.writerFor(SagaTransaction.class);
+        this.sagaReader = objectMapper.readerFor(SagaTransaction.class);
+        this.hits = Counter.builder("saga.status.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("saga.status.cache").tag("result", "miss").register(meterRegistry);
+        this.errors = Counter.builder("saga.status.cache").tag("result", "error").register(meterRegistry);
+    }
+
+    public Optional<SagaTransaction> get(String sagaId) {
+        if (!available()) {
+            return Optional.empty();
+        }
+        try {
+            Object state = redisTemplate.opsForHash().get(KEY_PREFIX + sagaId, "state");
+            if (state == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(sagaReader.readValue((String) state));
+        } catch (Exception e) {
+            onFailure("read", sagaId, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(SagaTransaction saga) {
+        if (!available()) {
+            return;
+        }
+        try {
+            long ttlMillis = (TERMINAL_STATUSES.contains(saga.getStatus()) ? terminalTtlSeconds : inFlightTtlSeconds) * 1000;
+            redisTemplate.execute(PUT_IF_NEWER, List.of(KEY_PREFIX + saga.getSagaId()),
+                    String.valueOf(saga.getEventSeq()), sagaWriter.writeValueAsString(saga), String.valueOf(ttlMillis));
+        } catch (Exception e) {
+            onFailure("write", saga.getSagaId(), e);
+        }
+    }
+
+    // Folds a committed event onto the run's view of the saga and writes the result.
+    // Locking the view keeps concurrent step completions from writing out of order.
+    // Returns the folded state for progress streams, taken under the same lock.
+    SagaProgress writeThrough(SagaRun run, SagaEvent event) {
+        SagaTransaction view = run.getSaga();
+        synchronized (view) {
+            folder.apply(view, event);
+            put(view);
+            return SagaProgress.of(view, event.getEventType().name());
+        }
+    }
+
+    // For events appended outside a run (API requests); the owner's next write refills it
+    public void evict(String sagaId) {
+        if (!available()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + sagaId);
+        } catch (Exception e) {
+            onFailure("evict", sagaId, e);
+        }
+    }
+
+    private boolean available() {
+        return enabled && System.currentTimeMillis() >= bypassUntil;
+    }
+
+    private void onFailure(String operation, String sagaId, Exception e) {
+        errors.increment();
+        bypassUntil = System.currentTimeMillis() + failureBackoffMillis;
+        logger.warn("Saga status cache {} failed for saga {}, bypassing cache for {} ms: {}",
+                operation, sagaId, failureBackoffMillis, e.getMessage());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.saga.orchestrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+// JSON codec for step payloads. Readers and writers are resolved once per payload type,
+// so serializer lookup is not repeated on every step.
+@Component
+public class SagaStepCodec {
+
+    private final ClassValue<ObjectWriter> writers;
+    private final ClassValue<ObjectReader> readers;
+
+    public SagaStepCodec(ObjectMapper objectMapper) {
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return objectMapper.writerFor(type);
+            }
+        };
+        this.readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return objectMapper.readerFor(type);
+            }
+        };
+    }
+
+    public String write(Object payload) {
+        try {
+            return writers.get(payload.getClass()).writeValueAsString(payload);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    public <T> T read(String json, Class<T> type) {
+        try {
+            return readers.get(type).readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.saga.orchestrator.service;
+
+import java.util.*;
+
+// Dependency graph between the steps of a saga type, keyed by step name.
+// Steps without a path between them may run concurrently; compensation walks the
+// topological order backwards so dependents are always undone before what they depend on.
+public class SagaStepGraph {
+
+    private final Map<String, Set<String>> dependencies;
+    private final Map<String, Set<String>> dependents;
+    private final List<String> topologicalOrder;
+
+    private SagaStepGraph(Map<String, Set<String>> dependencies) {
+        this.dependencies = dependencies;
+        this.dependents = new LinkedHashMap<>();
+        dependencies.keySet().forEach(step -> dependents.put(step, new LinkedHashSet<>()));
+        dependencies.forEach((step, deps) -> deps.forEach(dep -> dependents.get(dep).add(step)));
+        this.topologicalOrder = sort();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SagaStepGraph linear(List<String> stepNames) {
+        Builder builder = builder();
+        String previous = null;
+        for (String stepName : stepNames) {
+            if (previous == null) {
+                builder.step(stepName);
+            } else {
+                builder.step(stepName, previous);
+            }
+            previous = stepName;
+        }
+        return builder.build();
+    }
+
+    public Set<String> dependenciesOf(String stepName) {
+        return dependencies.getOrDefault(stepName, Collections.emptySet());
+    }
+
+    public Set<String> dependentsOf(String stepName) {
+        return dependents.getOrDefault(stepName, Collections.emptySet());
+    }
+
+    public boolean contains(String stepName) {
+        return dependencies.containsKey(stepName);
+    }
+
+    public List<String> topologicalOrder() {
+        return topologicalOrder;
+    }
+
+    public List<String> reverseTopologicalOrder() {
+        List<String> reversed = new ArrayList<>(topologicalOrder);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    // Kahn's algorithm; ties keep declaration order so linear sagas stay in step order
+    private List<String> sort() {
+        Map<String, Integer> inDegree = new LinkedHashMap<>();
+        dependencies.forEach((step, deps) -> inDegree.put(step, deps.size()));
+
+        Deque<String> ready = new ArrayDeque<>();
+        inDegree.forEach((step, degree) -> {
+            if (degree == 0) {
+                ready.add(step);
+            }
+        });
+
+        List<String> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String step = ready.poll();
+            order.add(step);
+            for (String dependent : dependents.get(step)) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() != dependencies.size()) {
+            throw new IllegalStateException("Saga step graph contains a cycle: " + dependencies);
+        }
+        return Collections.unmodifiableList(order);
+    }
+
+    public static class Builder {
+
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        public Builder step(String stepName, String... dependsOn) {
+            if (dependencies.containsKey(stepName)) {
+                throw new IllegalArgumentException("Duplicate saga step: " + stepName);
+            }
+            dependencies.put(stepName, new LinkedHashSet<>(Arrays.asList(dependsOn)));
+            return this;
+        }
+
+        public SagaStepGraph build() {
+            dependencies.forEach((step, deps) -> deps.forEach(dep -> {
+                if (!dependencies.containsKey(dep)) {
+                    throw new IllegalArgumentException(
+                            "Step " + step + " depends on undeclared step " + dep);
+                }
+            }));
+            return new SagaStepGraph(dependencies);
+        }
+    }
+}
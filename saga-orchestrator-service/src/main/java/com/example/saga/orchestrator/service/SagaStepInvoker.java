@@ -0,0 +1,67 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.definition.StepCompensation;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.entity.SagaStep;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// Performs the downstream calls for saga steps through their saga type's StepHandler.
+// Deliberately not transactional: remote calls must never run while a database
+// connection is held.
+//
+// Every call's latency and outcome is fed to the participant's SagaDownstreamLimit.
+@Component
+public class SagaStepInvoker {
+
+    @Autowired
+    private SagaDefinitions definitions;
+
+    @Autowired
+    private SagaDownstreamLimits downstreamLimits;
+
+    @Autowired
+    private SagaRetryPolicy retryPolicy;
+
+    String execute(SagaRun run, SagaStep step) {
+        StepHandler<?> handler = handlerFor(run, step);
+        String idempotencyKey = run.getSaga().stepKey(step.getStepNumber());
+        return measured(handler, () -> handler.execute(idempotencyKey, step.getRequestPayload()));
+    }
+
+    // The compensating call for a completed step, or null when there is nothing to undo
+    StepCompensation prepareCompensation(SagaRun run, SagaStep step) {
+        return handlerFor(run, step).prepareCompensation(run.getSagaId(), step);
+    }
+
+    void compensate(SagaRun run, SagaStep step, StepCompensation compensation) {
+        if (compensation != null) {
+            StepHandler<?> handler = handlerFor(run, step);
+            measured(handler, () -> {
+                handler.compensate(compensation);
+                return null;
+            });
+        }
+    }
+
+    StepHandler<?> handlerFor(SagaRun run, SagaStep step) {
+        return definitions.handlerFor(run.getSaga().getSagaType(), step.getStepName());
+    }
+
+    // Transient failures count as drops; a participant rejecting a request still answered
+    // in normal time, so any other failure is an ordinary latency sample
+    private <R> R measured(StepHandler<?> handler, Supplier<R> call) {
+        SagaDownstreamLimit limit = downstreamLimits.forParticipant(handler.getParticipant());
+        long start = System.nanoTime();
+        try {
+            R result = call.get();
+            limit.onSample(System.nanoTime() - start, false);
+            return result;
+        } catch (RuntimeException e) {
+            limit.onSample(System.nanoTime() - start, retryPolicy.isTransient(e));
+            throw e;
+        }
+    }
+}
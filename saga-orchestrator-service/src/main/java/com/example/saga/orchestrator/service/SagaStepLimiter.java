@@ -0,0 +1,69 @@
+package com.example.saga.orchestrator.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// Caps how many steps of one handler run at once on this node. A step also needs a permit
+// from its participant's adaptive SagaDownstreamLimit. Steps over either cap wait in a
+// queue instead of holding a worker; each finishing call to the participant releases the
+// next ones.
+class SagaStepLimiter {
+
+    private final Semaphore permits;
+    private final SagaDownstreamLimit downstream;
+    private final Executor executor;
+    private final Queue<Waiting> waiting = new ConcurrentLinkedQueue<>();
+
+    private record Waiting(Runnable step, Runnable onRejected) {
+    }
+
+    SagaStepLimiter(int maxConcurrency, SagaDownstreamLimit downstream, Executor executor) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.downstream = downstream;
+        this.executor = executor;
+        downstream.addReleaseListener(this::drain);
+    }
+
+    // onRejected runs instead of the step when the executor has no room for it
+    void submit(Runnable step, Runnable onRejected) {
+        waiting.add(new Waiting(() -> {
+            try {
+                step.run();
+            } finally {
+                permits.release();
+                downstream.release();
+            }
+        }, onRejected));
+        drain();
+    }
+
+    int getWaiting() {
+        return waiting.size();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            if (!downstream.tryAcquire()) {
+                permits.release();
+                return;
+            }
+            Waiting next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                downstream.cancel();
+                return;
+            }
+            try {
+                executor.execute(next.step());
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                downstream.cancel();
+                next.onRejected().run();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+// Resolves how each step reaches its participant:
+//   saga.transport.steps.<STEP_NAME>=feign|kafka   (falls back to saga.transport.default)
+//   saga.kafka.command-topics.<STEP_NAME>=<topic>  (required for kafka steps)
+@Component
+public class SagaStepTransports {
+
+    public enum Transport {
+        FEIGN,
+        KAFKA
+    }
+
+    @Autowired
+    private Environment environment;
+
+    public Transport transportFor(SagaStep step) {
+        String defaultTransport = environment.getProperty("saga.transport.default", "feign");
+        String transport = environment.getProperty("saga.transport.steps." + step.getStepName(), defaultTransport);
+        return Transport.valueOf(transport.trim().toUpperCase());
+    }
+
+    public String commandTopicFor(SagaStep step) {
+        String topic = environment.getProperty("saga.kafka.command-topics." + step.getStepName());
+        if (topic == null) {
+            throw new RuntimeException("No command topic configured for step: " + step.getStepName());
+        }
+        return topic;
+    }
+}
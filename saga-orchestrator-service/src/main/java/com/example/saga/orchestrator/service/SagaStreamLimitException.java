@@ -0,0 +1,8 @@
+package com.example.saga.orchestrator.service;
+
+public class SagaStreamLimitException extends RuntimeException {
+
+    public SagaStreamLimitException(int maxStreams) {
+        super("Too many open saga progress streams (limit " + maxStreams + ")");
+    }
+}
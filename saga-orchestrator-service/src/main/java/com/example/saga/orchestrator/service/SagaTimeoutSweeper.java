@@ -0,0 +1,189 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.repository.SagaTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Finds sagas that made no progress for saga.timeout-minutes and hands them to the
+// engine. Candidates come from the snapshot rows through idx_status_updated, one keyset
+// page at a time; snapshots can lag the log, so each candidate is confirmed against its
+// folded state before anything is done. Only owned partitions are swept, so replicas
+// never time out the same saga.
+//
+// A sweep waits for each batch before reading the next page and may run for minutes, so
+// it runs on the maintenance pool; the scheduled trigger only hands it over.
+@Component
+public class SagaTimeoutSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaTimeoutSweeper.class);
+
+    private static final List<SagaTransaction.SagaStatus> SWEPT_STATUSES = List.of(
+            SagaTransaction.SagaStatus.IN_PROGRESS,
+            SagaTransaction.SagaStatus.COMPENSATING);
+
+    // Snapshot statuses worth a look. Snapshots are only written every few events, so a
+    // saga stuck before its first snapshot still reads STARTED here although its folded
+    // state is IN_PROGRESS; timeOut() decides on the folded state.
+    private static final List<SagaTransaction.SagaStatus> CANDIDATE_STATUSES = List.of(
+            SagaTransaction.SagaStatus.STARTED,
+            SagaTransaction.SagaStatus.IN_PROGRESS,
+            SagaTransaction.SagaStatus.COMPENSATING);
+
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    @Qualifier("sagaExecutor")
+    private TaskExecutor sagaExecutor;
+
+    @Autowired
+    @Qualifier("sagaMaintenanceExecutor")
+    private TaskExecutor maintenanceExecutor;
+
+    @Autowired
+    private SagaTransactionRepository sagaRepository;
+
+    @Autowired
+    private SagaStateStore stateStore;
+
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+
+    @Autowired
+    private SagaPartitionManager partitionManager;
+
+    @Value("${saga.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${saga.timeout.batch-size:100}")
+    private int batchSize;
+
+    @Value("${saga.timeout.max-batches-per-sweep:50}")
+    private int maxBatchesPerSweep;
+
+    private final Timer batchTimer;
+    private final Counter timedOutCounter;
+    private final Counter skippedCounter;
+
+    // How long the oldest overdue saga has been waiting past its deadline, in seconds
+    private final AtomicLong sweepLagSeconds = new AtomicLong();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public SagaTimeoutSweeper(MeterRegistry meterRegistry) {
+        this.batchTimer = Timer.builder("saga.timeout.sweep.batch")
+                .description("Time to process one batch of timed-out sagas")
+                .register(meterRegistry);
+        this.timedOutCounter = Counter.builder("saga.timeout.sagas")
+                .description("Sagas driven to compensation by the timeout sweeper")
+                .tag("result", "timed_out")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("saga.timeout.sagas")
+                .description("Sagas driven to compensation by the timeout sweeper")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        meterRegistry.gauge("saga.timeout.sweep.lag", sweepLagSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${saga.timeout.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    sweepOwnedPartitions();
+                } finally {
+                    sweeping.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            sweeping.set(false);
+            logger.warn("Saga timeout sweep skipped, the maintenance pool is busy");
+        }
+    }
+
+    private void sweepOwnedPartitions() {
+        Set<Integer> partitions = partitionManager.getOwnedPartitions();
+        if (partitions.isEmpty()) {
+            sweepLagSeconds.set(0);
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(timeoutMinutes);
+        long lag = 0;
+        int batches = 0;
+        try {
+            for (SagaTransaction.SagaStatus status : CANDIDATE_STATUSES) {
+                LocalDateTime afterUpdatedAt = KEYSET_START;
+                long afterId = 0;
+                List<SagaTransactionRepository.TimedOutSaga> page;
+                do {
+                    page = sagaRepository.findTimedOutSagas(status.name(), cutoff, afterUpdatedAt, afterId,
+                            partitions, batchSize);
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    if (afterId == 0) {
+                        lag = Math.max(lag, Duration.between(page.get(0).getUpdatedAt(), cutoff).toSeconds());
+                    }
+
+                    processBatch(page, cutoff);
+                    SagaTransactionRepository.TimedOutSaga last = page.get(page.size() - 1);
+                    afterUpdatedAt = last.getUpdatedAt();
+                    afterId = last.getId();
+                } while (page.size() == batchSize && ++batches < maxBatchesPerSweep);
+            }
+        } catch (Exception e) {
+            logger.error("Saga timeout sweep failed", e);
+        }
+        sweepLagSeconds.set(lag);
+    }
+
+    // Sagas of one batch are handled in parallel on the saga worker pool; the next page
+    // is only read once the whole batch is done
+    private void processBatch(List<SagaTransactionRepository.TimedOutSaga> batch, LocalDateTime cutoff) {
+        batchTimer.record(() -> CompletableFuture.allOf(batch.stream()
+                        .map(candidate -> CompletableFuture.runAsync(
+                                () -> timeOut(candidate.getSagaId(), cutoff), sagaExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join());
+    }
+
+    private void timeOut(String sagaId, LocalDateTime cutoff) {
+        try {
+            SagaTransaction saga = stateStore.load(sagaId);
+            if (!SWEPT_STATUSES.contains(saga.getStatus()) || saga.getUpdatedAt().isAfter(cutoff)) {
+                // The log moved on since the last snapshot
+                skippedCounter.increment();
+                return;
+            }
+
+            logger.warn("Saga {} made no progress for {} minutes in status {}",
+                    sagaId, timeoutMinutes, saga.getStatus());
+            executionEngine.timeOut(saga, "Saga timed out after " + timeoutMinutes + " minutes without progress");
+            timedOutCounter.increment();
+        } catch (Exception e) {
+            logger.error("Failed to time out saga {}", sagaId, e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.saga.orchestrator.service;
+
+import com.example.saga.orchestrator.entity.SagaStep;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import io.micrometer.observation.transport.SenderContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// W3C trace context per saga. Starting a saga opens a short root span (a child of the
+// API request's span when there is one) whose traceparent is stored on the saga row.
+// Every step call and compensation later runs in a span restored from that traceparent,
+// on whichever node drives the saga, so Feign calls and Kafka commands made inside it
+// carry the saga's trace to the participants.
+//
+// Sampling is decided once, at the head of the trace (management.tracing.sampling.probability);
+// the sampled flag travels in the traceparent, so an unsampled saga costs no exported spans.
+@Component
+public class SagaTracing {
+
+    private static final String TRACEPARENT = "traceparent";
+
+    private final ObservationRegistry observationRegistry;
+
+    public SagaTracing(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    // The saga's traceparent, or null when tracing is not configured
+    public String startSaga(String sagaType, String sagaId) {
+        SenderContext<Map<String, String>> context = new SenderContext<>(Map::put);
+        context.setCarrier(new HashMap<>());
+        Observation.createNotStarted("saga.start", () -> context, observationRegistry)
+                .contextualName("start " + sagaType)
+                .lowCardinalityKeyValue("saga.type", sagaType)
+                .highCardinalityKeyValue("saga.id", sagaId)
+                .observe(() -> {
+                });
+        return context.getCarrier().get(TRACEPARENT);
+    }
+
+    // Runs work in a span for the step, parented on the saga's root span. Sagas started
+    // before trace context was stored get a fresh trace per step.
+    void inStep(SagaRun run, SagaStep step, String phase, Runnable work) {
+        String traceParent = run.getSaga().getTraceParent();
+        ReceiverContext<Map<String, String>> context = new ReceiverContext<>(Map::get);
+        context.setCarrier(traceParent != null ? Map.of(TRACEPARENT, traceParent) : Map.of());
+        Observation.createNotStarted("saga.step", () -> context, observationRegistry)
+                .contextualName(phase + " " + step.getStepName())
+                .lowCardinalityKeyValue("saga.type", run.getSaga().getSagaType())
+                .lowCardinalityKeyValue("step", step.getStepName())
+                .lowCardinalityKeyValue("phase", phase)
+                .highCardinalityKeyValue("saga.id", run.getSagaId())
+                .observe(work);
+    }
+}
@@ -0,0 +1,11 @@
+USE saga_orchestrator_db;
+
+-- saga_transactions / saga_steps become snapshots of the event log:
+-- event_seq is the last per-saga event sequence folded into the row
+ALTER TABLE saga_transactions
+    ADD COLUMN event_seq INT NOT NULL DEFAULT 0 AFTER total_steps;
+
+-- Events are ordered per saga by seq; the unique key doubles as the tail-read index
+ALTER TABLE saga_events
+    ADD COLUMN seq INT NOT NULL DEFAULT 0 AFTER saga_id,
+    ADD UNIQUE KEY unique_saga_event_seq (saga_id, seq);
@@ -0,0 +1,18 @@
+USE saga_orchestrator_db;
+
+-- Orchestrator instances and their last heartbeat
+CREATE TABLE IF NOT EXISTS saga_orchestrator_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    heartbeat_at TIMESTAMP(3) NOT NULL,
+    
+    INDEX idx_heartbeat_at (heartbeat_at)
+) ENGINE=InnoDB;
+
+-- One lease per saga partition; a saga belongs to partition CRC32(saga_id) % partition count
+CREATE TABLE IF NOT EXISTS saga_partition_leases (
+    partition_id INT PRIMARY KEY,
+    owner_node VARCHAR(255) NULL,
+    lease_expires_at TIMESTAMP(3) NULL,
+    
+    INDEX idx_owner_node (owner_node)
+) ENGINE=InnoDB;
@@ -0,0 +1,14 @@
+USE saga_orchestrator_db;
+
+-- Steps parked after a transient failure, waiting for their next attempt
+CREATE TABLE IF NOT EXISTS saga_step_retries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    saga_id VARCHAR(255) NOT NULL,
+    step_number INT NOT NULL,
+    attempt INT NOT NULL,
+    due_at TIMESTAMP(3) NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    UNIQUE KEY unique_saga_step_retry (saga_id, step_number),
+    INDEX idx_due_at (due_at)
+) ENGINE=InnoDB;
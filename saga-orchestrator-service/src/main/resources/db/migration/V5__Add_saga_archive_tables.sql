@@ -0,0 +1,9 @@
+USE saga_orchestrator_db;
+
+-- Terminal sagas past their retention age, moved out by the cleanup job.
+-- Same columns and indexes as the live tables, without foreign keys.
+CREATE TABLE IF NOT EXISTS saga_transactions_archive LIKE saga_transactions;
+
+CREATE TABLE IF NOT EXISTS saga_steps_archive LIKE saga_steps;
+
+CREATE TABLE IF NOT EXISTS saga_events_archive LIKE saga_events;
@@ -0,0 +1,7 @@
+USE saga_orchestrator_db;
+
+-- Keyset pagination over (created_at, id), optionally filtered by status or saga type.
+-- InnoDB appends the primary key to secondary indexes, so these cover the id tiebreak.
+ALTER TABLE saga_transactions
+    ADD INDEX idx_status_created (status, created_at),
+    ADD INDEX idx_saga_type_created (saga_type, created_at);
@@ -0,0 +1,13 @@
+USE saga_orchestrator_db;
+
+-- Idempotency-Key of each API-started saga. The primary key makes concurrent retries
+-- of the same request converge on one saga; rows older than the replay window are
+-- reclaimed on reuse and purged by the cleanup job.
+CREATE TABLE IF NOT EXISTS saga_idempotency_keys (
+    idempotency_key VARCHAR(128) NOT NULL PRIMARY KEY,
+    saga_id VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,8 @@
+USE saga_orchestrator_db;
+
+-- W3C traceparent of each saga's root span, so steps run on any node and at any later
+-- time join the trace of the request that started the saga. Added to the archive table
+-- too, which is copied with SELECT * and must keep the same column order.
+ALTER TABLE saga_transactions ADD COLUMN trace_parent VARCHAR(55) NULL;
+
+ALTER TABLE saga_transactions_archive ADD COLUMN trace_parent VARCHAR(55) NULL;
@@ -0,0 +1,28 @@
+USE saga_orchestrator_db;
+
+-- Each saga's partition, stored so the poller, retry scheduler and timeout sweeper can
+-- find the sagas of their owned partitions through an index instead of computing
+-- MOD(CRC32(saga_id), count) for every row. Backfilled for the default count of 64;
+-- SagaPartitionManager re-partitions unfinished sagas on startup if the count differs.
+--
+-- retry_round counts manual retries of a saga and is part of every step's idempotency
+-- key, so a retried step is processed again instead of answered from the first round.
+--
+-- Added to the archive table too, which is copied with SELECT * and must keep the same
+-- column order.
+ALTER TABLE saga_transactions
+    ADD COLUMN partition_no INT NOT NULL DEFAULT 0,
+    ADD COLUMN retry_round INT NOT NULL DEFAULT 0,
+    ADD INDEX idx_partition_status (partition_no, status, id);
+
+UPDATE saga_transactions SET partition_no = MOD(CRC32(saga_id), 64);
+
+ALTER TABLE saga_transactions_archive
+    ADD COLUMN partition_no INT NOT NULL DEFAULT 0,
+    ADD COLUMN retry_round INT NOT NULL DEFAULT 0;
+
+ALTER TABLE saga_step_retries
+    ADD COLUMN partition_no INT NOT NULL DEFAULT 0,
+    ADD INDEX idx_partition_due (partition_no, due_at);
+
+UPDATE saga_step_retries SET partition_no = MOD(CRC32(saga_id), 64);
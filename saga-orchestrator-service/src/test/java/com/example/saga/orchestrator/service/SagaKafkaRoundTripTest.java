@@ -0,0 +1,240 @@
+package com.example.saga.orchestrator.service;
+
+import com.demo.saga.ParticipantCommandHandler;
+import com.demo.saga.ProcessedCommand;
+import com.demo.saga.ProcessedCommandRepository;
+import com.demo.saga.SagaCommandGateway;
+import com.example.saga.orchestrator.definition.StepHandler;
+import com.example.saga.orchestrator.entity.SagaStep;
+import com.example.saga.orchestrator.entity.SagaTransaction;
+import com.example.saga.orchestrator.messaging.SagaCommandPublisher;
+import com.example.saga.orchestrator.messaging.SagaReplyListener;
+import com.example.saga.orchestrator.model.SagaCommand;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A Kafka step end to end on an embedded broker: the engine publishes the step's command,
+// the shared participant handler performs it and replies through a Debezium-shaped outbox
+// row, and the engine completes the step and dispatches the next one. A redelivered
+// command gets the recorded reply instead of a second run, and the engine ignores the
+// repeated reply. Persistence on both sides is mocked; everything on Kafka is real.
+@SpringBootTest(
+        classes = {
+                SagaExecutionEngine.class,
+                SagaCommandPublisher.class,
+                SagaReplyListener.class,
+                SagaStepTransports.class,
+                SagaRetryPolicy.class,
+                SagaMetrics.class,
+                SagaTracing.class,
+                SagaDownstreamLimits.class,
+                SagaCommandGateway.class,
+                SagaKafkaRoundTripTest.OrderParticipant.class,
+                SagaKafkaRoundTripTest.OrderCommandListener.class,
+                SagaKafkaRoundTripTest.TestConfig.class
+        },
+        properties = {
+                "saga.transport.steps.CREATE_ORDER=kafka",
+                "saga.transport.steps.PROCESS_PAYMENT=kafka",
+                "spring.kafka.consumer.auto-offset-reset=earliest"
+        })
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@EmbeddedKafka(
+        partitions = 1,
+        topics = {"order-commands", "payment-commands", "order-events", "inventory-events", "payment-events", "notification-events"},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class SagaKafkaRoundTripTest {
+
+    private static final String SAGA_ID = "saga-kafka-round-trip";
+
+    @Autowired
+    private SagaExecutionEngine executionEngine;
+
+    @Autowired
+    private OrderParticipant participant;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @SpyBean
+    private SagaReplyListener replyListener;
+
+    @MockBean
+    private SagaStateStore stateStore;
+
+    @MockBean
+    private SagaStepInvoker stepInvoker;
+
+    @MockBean
+    private SagaDefinitions definitions;
+
+    // Named for SagaReplyListener's group id expression
+    @MockBean(name = "sagaPartitionManager")
+    private SagaPartitionManager partitionManager;
+
+    @Test
+    void kafkaStepIsPerformedOnceAndAdvancesTheSaga() throws Exception {
+        when(partitionManager.owns(anyString())).thenReturn(true);
+        SagaTransaction saga = new SagaTransaction(SAGA_ID, "ORDER_SAGA", "{}");
+        saga.getSteps().add(new SagaStep(1, "CREATE_ORDER", "order-service", "{\"sagaId\":\"" + SAGA_ID + "\"}", saga));
+        saga.getSteps().add(new SagaStep(2, "PROCESS_PAYMENT", "payment-service", "{\"sagaId\":\"" + SAGA_ID + "\"}", saga));
+        when(stateStore.load(SAGA_ID)).thenReturn(saga);
+        when(definitions.graphFor(saga)).thenReturn(SagaStepGraph.linear(List.of("CREATE_ORDER", "PROCESS_PAYMENT")));
+        StepHandler<?> handler = mock(StepHandler.class);
+        when(handler.getStepName()).thenReturn("CREATE_ORDER");
+        when(handler.getParticipant()).thenReturn("order-service");
+        when(handler.getMaxConcurrency()).thenReturn(10);
+        when(stepInvoker.handlerFor(any(), any())).thenAnswer(invocation -> handler);
+
+        executionEngine.submit(SAGA_ID);
+
+        // The participant's reply completes CREATE_ORDER and the engine publishes PROCESS_PAYMENT
+        verify(stateStore, timeout(30_000)).completeStep(any(), argThat(step -> "CREATE_ORDER".equals(step.getStepName())), anyString());
+        try (Consumer<String, String> consumer = paymentCommandConsumer()) {
+            ConsumerRecord<String, String> next = KafkaTestUtils.getSingleRecord(consumer, "payment-commands", Duration.ofSeconds(30));
+            assertEquals(SAGA_ID, next.key());
+            assertTrue(next.value().contains("\"commandId\":\"" + SAGA_ID + ":2\""));
+        }
+
+        // Redelivery of the first command: answered from the record, not performed again
+        kafkaTemplate.send("order-commands", SAGA_ID,
+                new SagaCommand(saga.stepKey(1), SAGA_ID, "CREATE_ORDER", saga.getSteps().get(0).getRequestPayload())).get();
+        verify(replyListener, timeout(30_000).times(2)).onOutboxEvent(anyString());
+        assertEquals(1, participant.stepRuns.get());
+        assertEquals(2, participant.replies.get());
+        verify(stateStore, after(1_000).times(1)).completeStep(any(), argThat(step -> "CREATE_ORDER".equals(step.getStepName())), anyString());
+        verify(stateStore, times(1)).startSteps(any(), eq(List.of(saga.getSteps().get(1))));
+    }
+
+    private Consumer<String, String> paymentCommandConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("payment-service-group", "false", embeddedKafka);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "payment-commands");
+        return consumer;
+    }
+
+    // A participant as the services build it on the shared handler; its outbox row goes
+    // straight to the events topic in the shape Debezium publishes it
+    static class OrderParticipant extends ParticipantCommandHandler {
+
+        final AtomicInteger stepRuns = new AtomicInteger();
+        final AtomicInteger replies = new AtomicInteger();
+
+        @Autowired
+        private KafkaTemplate<String, Object> kafkaTemplate;
+
+        @Override
+        protected Map<String, Object> performStep(String stepName, Map<String, Object> payload) {
+            stepRuns.incrementAndGet();
+            return Map.of("orderId", "order-1", "status", "PENDING");
+        }
+
+        @Override
+        protected void saveReply(String sagaId, String reply) {
+            replies.incrementAndGet();
+            kafkaTemplate.send("order-events", sagaId, Map.of("event_type", "SagaStepReply", "payload", reply));
+        }
+    }
+
+    static class OrderCommandListener {
+
+        @Autowired
+        private SagaCommandGateway commandGateway;
+
+        @KafkaListener(
+                topics = "order-commands",
+                groupId = "order-service-group",
+                properties = "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer")
+        public void onCommand(String message) {
+            commandGateway.receive(message);
+        }
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean(name = "sagaExecutor")
+        TaskExecutor sagaExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry() {
+            return ObservationRegistry.NOOP;
+        }
+
+        // The processed_commands table, with its primary key
+        @Bean
+        ProcessedCommandRepository processedCommandRepository() {
+            Map<String, ProcessedCommand> rows = new ConcurrentHashMap<>();
+            ProcessedCommandRepository repository = mock(ProcessedCommandRepository.class);
+            when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+            when(repository.existsById(anyString())).thenAnswer(invocation -> rows.containsKey(invocation.<String>getArgument(0)));
+            when(repository.saveAndFlush(any(ProcessedCommand.class))).thenAnswer(invocation -> {
+                ProcessedCommand command = invocation.getArgument(0);
+                if (rows.putIfAbsent(command.getCommandId(), command) != null) {
+                    throw new DataIntegrityViolationException("Duplicate entry " + command.getCommandId());
+                }
+                return command;
+            });
+            when(repository.save(any(ProcessedCommand.class))).thenAnswer(invocation -> {
+                ProcessedCommand command = invocation.getArgument(0);
+                rows.put(command.getCommandId(), command);
+                return command;
+            });
+            return repository;
+        }
+    }
+}
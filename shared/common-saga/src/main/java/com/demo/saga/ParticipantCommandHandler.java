@@ -0,0 +1,147 @@
+package com.demo.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Executes saga step commands in a participant service. The reply is written to the outbox
+// in the same transaction as the step's own changes, so the orchestrator sees a success
+// reply exactly when the step committed. Services supply the step itself and the outbox
+// write; the rest is shared.
+//
+// Kafka may deliver a command again (after a rebalance or a missed offset commit). Each
+// handled command is recorded with its reply in that same transaction, and a redelivered
+// one gets the recorded reply again instead of running the step twice.
+//
+// Step calls over HTTP carry the same id in an Idempotency-Key header and are recorded
+// the same way, so a call the orchestrator repeats after losing track of its outcome
+// (a crash or partition takeover mid-call) gets the recorded reply instead of a second run.
+@Transactional
+public abstract class ParticipantCommandHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ParticipantCommandHandler.class);
+    
+    @Autowired
+    private ProcessedCommandRepository processedCommandRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Runs the named step and returns the response sent back to the orchestrator
+    protected abstract Map<String, Object> performStep(String stepName, Map<String, Object> payload);
+
+    // Writes a step reply to the service's outbox
+    protected abstract void saveReply(String sagaId, String reply);
+
+    public void handle(Map<String, Object> command) {
+        ProcessedCommand processed = processedCommandRepository.findById(commandId(command)).orElse(null);
+        if (processed != null) {
+            saveReply(processed.getSagaId(), processed.getReply());
+            logger.info("Command {} was already handled, resent its reply", processed.getCommandId());
+            return;
+        }
+        sendReply(perform(command));
+    }
+
+    // Returns the reply for a step call made over HTTP, performing the step only the first time
+    public Map<String, Object> call(Map<String, Object> command) {
+        ProcessedCommand processed = processedCommandRepository.findById(commandId(command)).orElse(null);
+        if (processed != null) {
+            logger.info("Call {} was already handled, returning its recorded reply", processed.getCommandId());
+            return readReply(processed);
+        }
+        return readReply(perform(command));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isProcessed(Map<String, Object> command) {
+        return command.get("commandId") != null && processedCommandRepository.existsById((String) command.get("commandId"));
+    }
+
+    // The recorded reply for a command, or null when it has not been handled
+    @Transactional(readOnly = true)
+    public Map<String, Object> recordedReply(Map<String, Object> command) {
+        return processedCommandRepository.findById(commandId(command)).map(this::readReply).orElse(null);
+    }
+
+    // Runs after handle() rolled back on a business failure, so the failure reply is committed on its own
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void replyFailure(Map<String, Object> command, String errorMessage) {
+        sendReply(record(claim(command), command, false, null, errorMessage));
+    }
+
+    // Runs after call() rolled back on a business failure, so the failure is recorded on its own
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Object> recordFailure(Map<String, Object> command, String errorMessage) {
+        return readReply(record(claim(command), command, false, null, errorMessage));
+    }
+
+    // A step call received over HTTP, in the shape of a Kafka command
+    public static Map<String, Object> stepCall(String idempotencyKey, String stepName, Map<String, Object> request) {
+        Map<String, Object> command = new LinkedHashMap<>();
+        command.put("commandId", idempotencyKey);
+        command.put("sagaId", request.get("sagaId"));
+        command.put("stepName", stepName);
+        command.put("payload", request);
+        return command;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProcessedCommand perform(Map<String, Object> command) {
+        // Flushed right away so a concurrent delivery of the same command waits on this row
+        // and then fails on the duplicate key, rolling back its step
+        ProcessedCommand processed = processedCommandRepository.saveAndFlush(claim(command));
+        Map<String, Object> response = performStep((String) command.get("stepName"), (Map<String, Object>) command.get("payload"));
+        return record(processed, command, true, response, null);
+    }
+
+    private ProcessedCommand claim(Map<String, Object> command) {
+        return new ProcessedCommand(commandId(command), (String) command.get("sagaId"), (String) command.get("stepName"));
+    }
+
+    private String commandId(Map<String, Object> command) {
+        String commandId = (String) command.get("commandId");
+        if (commandId == null) {
+            throw new RuntimeException("Saga command without commandId");
+        }
+        return commandId;
+    }
+
+    private ProcessedCommand record(ProcessedCommand processed, Map<String, Object> command, boolean success,
+                                    Map<String, Object> response, String errorMessage) {
+        try {
+            Map<String, Object> reply = new LinkedHashMap<>();
+            reply.put("commandId", command.get("commandId"));
+            reply.put("sagaId", command.get("sagaId"));
+            reply.put("stepName", command.get("stepName"));
+            reply.put("success", success);
+            reply.put("response", response);
+            reply.put("errorMessage", errorMessage);
+            
+            processed.setReply(objectMapper.writeValueAsString(reply));
+            return processedCommandRepository.save(processed);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write saga reply", e);
+        }
+    }
+
+    private void sendReply(ProcessedCommand processed) {
+        saveReply(processed.getSagaId(), processed.getReply());
+        logger.info("Wrote saga reply for command {}", processed.getCommandId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readReply(ProcessedCommand processed) {
+        try {
+            return objectMapper.readValue(processed.getReply(), Map.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read recorded saga reply", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.saga;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A saga command a participant service has handled and the reply it sent for it
+@Entity
+@Table(name = "processed_commands")
+public class ProcessedCommand {
+
+    @Id
+    @Column(name = "command_id")
+    private String commandId;
+
+    @Column(name = "saga_id", nullable = false)
+    private String sagaId;
+
+    @Column(name = "step_name", nullable = false)
+    private String stepName;
+
+    @Column(name = "reply", columnDefinition = "JSON")
+    private String reply;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    public ProcessedCommand() { this.processedAt = LocalDateTime.now(); }
+    public ProcessedCommand(String commandId, String sagaId, String stepName) {
+        this(); this.commandId = commandId; this.sagaId = sagaId; this.stepName = stepName;
+    }
+
+    // Getters and setters
+    public String getCommandId() { return commandId; }
+    public void setCommandId(String commandId) { this.commandId = commandId; }
+    public String getSagaId() { return sagaId; }
+    public void setSagaId(String sagaId) { this.sagaId = sagaId; }
+    public String getStepName() { return stepName; }
+    public void setStepName(String stepName) { this.stepName = stepName; }
+    public String getReply() { return reply; }
+    public void setReply(String reply) { this.reply = reply; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,8 @@
+package com.demo.saga;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedCommandRepository extends JpaRepository<ProcessedCommand, String> {
+}
@@ -0,0 +1,87 @@
+package com.demo.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Entry point for saga step commands, over Kafka or HTTP. Calls the handler's transactions
+// from outside so each one commits or rolls back on its own.
+//
+// Only a business failure becomes the step's recorded outcome. An infrastructure failure
+// (see SagaFailures) is left unrecorded: a Kafka command is thrown back to the listener
+// container so it is redelivered, and an HTTP call is answered with 503, which the
+// orchestrator retries with the same Idempotency-Key.
+@Component
+public class SagaCommandGateway {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SagaCommandGateway.class);
+    
+    @Autowired
+    private ParticipantCommandHandler commandHandler;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SuppressWarnings("unchecked")
+    public void receive(String message) {
+        Map<String, Object> command;
+        try {
+            command = objectMapper.readValue(message, Map.class);
+        } catch (Exception e) {
+            logger.error("Discarding unreadable saga command: {}", message, e);
+            return;
+        }
+        
+        logger.info("Received saga command {}", command.get("commandId"));
+        try {
+            commandHandler.handle(command);
+        } catch (RuntimeException e) {
+            if (SagaFailures.isInfrastructure(e)) {
+                logger.warn("Saga command {} hit an infrastructure failure, leaving it for redelivery", command.get("commandId"), e);
+                throw e;
+            }
+            if (commandHandler.isProcessed(command)) {
+                // A concurrent delivery of the same command committed first and sent the reply
+                logger.info("Saga command {} was handled by another delivery", command.get("commandId"));
+                return;
+            }
+            logger.error("Saga command {} failed", command.get("commandId"), e);
+            commandHandler.replyFailure(command, e.getMessage());
+        }
+    }
+
+    // Saga step call: performed once per Idempotency-Key, a repeated call gets the first outcome
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> call(String idempotencyKey, String stepName, Map<String, Object> request,
+                                                    String errorPrefix) {
+        Map<String, Object> command = ParticipantCommandHandler.stepCall(idempotencyKey, stepName, request);
+        Map<String, Object> reply;
+        try {
+            reply = commandHandler.call(command);
+        } catch (RuntimeException e) {
+            if (SagaFailures.isInfrastructure(e)) {
+                logger.warn("Step call {} hit an infrastructure failure", idempotencyKey, e);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "error", errorPrefix + e.getMessage()
+                ));
+            }
+            // A concurrent call with the same key may have committed first
+            reply = commandHandler.recordedReply(command);
+            if (reply == null) {
+                reply = commandHandler.recordFailure(command, errorPrefix + e.getMessage());
+            }
+        }
+        if (Boolean.TRUE.equals(reply.get("success"))) {
+            return ResponseEntity.ok((Map<String, Object>) reply.get("response"));
+        }
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", reply.get("errorMessage")
+        ));
+    }
+}
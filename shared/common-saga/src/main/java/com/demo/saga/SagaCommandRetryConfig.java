@@ -0,0 +1,32 @@
+package com.demo.saga;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+// Redelivery of saga commands that SagaCommandGateway threw back after an infrastructure
+// failure. Backs off so a database outage or lock storm is not hammered; a command still
+// failing when the backoff runs out is skipped and its saga is left to the orchestrator's
+// timeout sweeper.
+@Configuration
+public class SagaCommandRetryConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SagaCommandRetryConfig.class);
+
+    @Bean
+    public DefaultErrorHandler sagaCommandErrorHandler(
+            @Value("${saga.commands.retry.initial-interval-ms:500}") long initialIntervalMs,
+            @Value("${saga.commands.retry.max-interval-ms:30000}") long maxIntervalMs,
+            @Value("${saga.commands.retry.max-elapsed-ms:300000}") long maxElapsedMs) {
+        ExponentialBackOff backOff = new ExponentialBackOff(initialIntervalMs, 2.0);
+        backOff.setMaxInterval(maxIntervalMs);
+        backOff.setMaxElapsedTime(maxElapsedMs);
+        return new DefaultErrorHandler((record, e) ->
+                logger.error("Giving up on saga command at {}-{}@{}", record.topic(), record.partition(), record.offset(), e),
+                backOff);
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.saga;
+
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.QueryTimeoutException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+
+// Tells a step's business failure from an infrastructure one. A business failure (insufficient
+// stock, a declined payment) is the step's outcome and is recorded as such; an infrastructure
+// failure (a lost connection, a lock wait or query timeout) says nothing about the step, which
+// must be tried again. Services wrap whatever they catch, so the whole cause chain is checked.
+public final class SagaFailures {
+
+    private SagaFailures() {
+    }
+
+    public static boolean isInfrastructure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof LockTimeoutException
+                    || t instanceof PessimisticLockException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}